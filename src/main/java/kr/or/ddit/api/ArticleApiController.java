@@ -1,14 +1,39 @@
 package kr.or.ddit.api;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.or.ddit.dto.ArticleCacheStats;
+import kr.or.ddit.dto.ArticleDelta;
 import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.dto.ArticleLookup;
+import kr.or.ddit.dto.ArticleSnapshotCheck;
+import kr.or.ddit.dto.ArticleStats;
+import kr.or.ddit.dto.ArticleTitle;
+import kr.or.ddit.dto.ArticleTrend;
+import kr.or.ddit.dto.ArticleViews;
 import kr.or.ddit.entity.Article;
+import kr.or.ddit.jpa.QueryBudget;
+import kr.or.ddit.service.ArticleCacheService;
+import kr.or.ddit.service.ArticleGroupCommitService;
+import kr.or.ddit.service.ArticleImportService;
 import kr.or.ddit.service.ArticleService;
+import kr.or.ddit.service.ArticleSnapshotService;
+import kr.or.ddit.service.ArticleStatsService;
+import kr.or.ddit.service.ArticleSuggestService;
+import kr.or.ddit.service.ArticleTrendingService;
+import kr.or.ddit.service.ArticleViewService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.PrintWriter;
 import java.util.List;
 
 @Slf4j
@@ -28,41 +53,193 @@ public class ArticleApiController {
          - 수정 요청
             > /api/articles/{id}
             > PATCH 메서드로 특정 Article의 내용을 수정합니다.
+            > Content-Type에 따라 ArticleForm(application/json), JSON Merge Patch(application/merge-patch+json),
+              내용 부분 수정(application/vnd.ddit.text-delta+json) 중 하나로 처리합니다.
             
          - 삭제 요청
             > /api/articles/{id}
             > DELETE 메서드로 특정 Article을 삭제합니다.
+
+         - @QueryBudget : 각 요청에서 실행될 수 있는 SQL 문장 수 (넘으면 경고 로그, QueryBudgetInterceptor 참고)
      */
+    private static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+    private static final String TEXT_DELTA_JSON = "application/vnd.ddit.text-delta+json";
+
     @Autowired
     private ArticleService articleService;
 
+    @Autowired
+    private ArticleStatsService articleStatsService;
+
+    @Autowired
+    private ArticleImportService articleImportService;
+
+    @Autowired
+    private ArticleSuggestService articleSuggestService;
+
+    @Autowired
+    private ArticleSnapshotService articleSnapshotService;
+
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    @Autowired
+    private ArticleViewService articleViewService;
+
+    @Autowired
+    private ArticleTrendingService articleTrendingService;
+
+    @Autowired
+    private ArticleGroupCommitService articleGroupCommitService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // GET 방식
     // 게시글 목록 요청
+    // 목록 스냅샷이 있으면 SQL 없이 응답한다(ddit.articles.snapshot.enabled=false이면 1번 조회).
     @GetMapping("/api/articles")
+    @QueryBudget(statements = 1)
     public List<Article> index(){
         // 서비스를 통해 데이터를 가져온다. 그리고 가져온 데이터 그대로 응답으로 전달
         return articleService.index();
     }
+
+    // 게시글 여러 건 조회 요청 (예: /api/articles?ids=1,2,3)
+    // id마다 상세조회를 요청하지 않고 한 번에 가져온다. 결과는 요청한 id 순서이고 없는 id는 found=false
+    // IN 조회는 ddit.multi-get.chunk-size(500) 건씩 나눠 실행되므로 최대 id 수(1000)면 2번
+    @GetMapping(value = "/api/articles", params = "ids")
+    @QueryBudget(statements = 2)
+    public ResponseEntity<List<ArticleLookup>> showAll(@RequestParam("ids") List<Long> ids){
+        return lookup(ids);
+    }
+
+    // 게시글 여러 건 조회 요청 (id가 많아 URL이 길어지는 경우, 본문 : [1,2,3])
+    @PostMapping("/api/articles/lookup")
+    @QueryBudget(statements = 2)
+    public ResponseEntity<List<ArticleLookup>> lookupAll(@RequestBody List<Long> ids){
+        return lookup(ids);
+    }
+
+    private ResponseEntity<List<ArticleLookup>> lookup(List<Long> ids){
+        String error = articleService.validateShowAll(ids);
+        if (error != null) {
+            log.info("lookup-> 잘못된 요청 : {}", error);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(articleService.showAll(ids));
+    }
+
+    // 게시글 통계 요청 (관리자 대시보드용)
+    // 테이블을 조회하지 않고 메모리에 유지 중인 카운터 값으로 응답한다.
+    @GetMapping("/api/articles/stats")
+    @QueryBudget(statements = 0)
+    public ArticleStats stats(){
+        return articleStatsService.stats();
+    }
+
+    // 2차 캐시, 쿼리 캐시 적중률 요청 (관리자용)
+    @GetMapping("/api/articles/cache-stats")
+    @QueryBudget(statements = 0)
+    public ArticleCacheStats cacheStats(){
+        return articleCacheService.stats();
+    }
+
+    // 게시글 목록 스냅샷 일관성 점검 요청 (관리자용)
+    // 메모리의 목록 스냅샷을 db와 비교하고, repair=true이면 불일치가 있을 때 db 기준으로 다시 만든다.
+    @GetMapping("/api/articles/snapshot/check")
+    @QueryBudget(statements = 1)
+    public ArticleSnapshotCheck checkSnapshot(@RequestParam(value = "repair", defaultValue = "false") boolean repair){
+        return articleSnapshotService.check(repair);
+    }
+
+    // 인기 게시글 요청 (예: /api/articles/trending?window=1h&limit=10)
+    // 최근 window 동안 조회수(추정값)가 많은 게시글 순, db를 조회하지 않는다.
+    // limit이 ddit.trending.top-k보다 크면 top-k 건까지만 반환한다.
+    @GetMapping("/api/articles/trending")
+    @QueryBudget(statements = 0)
+    public ResponseEntity<List<ArticleTrend>> trending(@RequestParam(value = "window", defaultValue = "1h") String window,
+                                                       @RequestParam(value = "limit", defaultValue = "10") int limit){
+        String error = articleTrendingService.validateWindow(window);
+        if (error != null || limit < 1) {
+            log.info("trending-> 잘못된 요청 window : {}, limit : {}", window, limit);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.status(HttpStatus.OK).body(articleTrendingService.trending(window, limit));
+    }
+
+    // 게시글 제목 자동완성 요청 (예: /api/articles/suggest?prefix=가&limit=10)
+    // db를 조회하지 않고 메모리의 제목 색인(ArticleSuggestService)으로 응답한다.
+    @GetMapping("/api/articles/suggest")
+    @QueryBudget(statements = 0)
+    public List<ArticleTitle> suggest(@RequestParam("prefix") String prefix,
+                                      @RequestParam(value = "limit", defaultValue = "10") int limit){
+        return articleSuggestService.suggest(prefix, limit);
+    }
+
     // 게시글 상세조회 요청
+    // 게시글이 없으면 404 (없는 id가 확실하면 db를 조회하지 않는다, ArticleIdFilterService 참고)
     @GetMapping("/api/articles/{id}")
-    public Article show(@PathVariable("id") Long id){
-        return articleService.show(id);
+    @QueryBudget(statements = 1)
+    public ResponseEntity<Article> show(@PathVariable("id") Long id){
+        Article article = articleService.show(id);
+        return (article != null) ? ResponseEntity.status(HttpStatus.OK).body(article) :
+                ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    // 게시글 조회수 요청
+    // db에 반영된 조회수에 아직 반영되지 않은(메모리에 쌓인) 조회수를 더해 응답한다.
+    @GetMapping("/api/articles/{id}/views")
+    @QueryBudget(statements = 1)
+    public ArticleViews views(@PathVariable("id") Long id){
+        return articleViewService.views(id);
     }
 
     // POST
     // 게시글 등록 요청
+    // 그룹 커밋 모드(ddit.group-commit.enabled)이면 동시에 들어온 등록 요청과 함께 한 트랜잭션으로 저장된다.
+    // (이때 insert는 group-commit 스레드에서 실행되므로 이 요청의 문장 수에는 세어지지 않는다.)
     @PostMapping("/api/articles")
+    @QueryBudget(statements = 1)
     public ResponseEntity<Article> create(@RequestBody ArticleForm dto){
-        Article created = articleService.create(dto);
+        Article created = articleGroupCommitService.create(dto);
 
         return  (created != null) ?
                 ResponseEntity.status(HttpStatus.OK).body(created) :
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
 
+    // 게시글 일괄 등록 요청
+    // 본문 : CSV(text/csv) 또는 NDJSON(application/x-ndjson), 한 행이 게시글 하나
+    // 응답 : NDJSON으로 오류 행, 진행 상황(배치 커밋마다), 최종 결과를 처리하는 대로 바로 내보낸다.
+    // SQL 문장 수는 배치 수(행 수 / ddit.import.batch-size)에 비례하므로 제한하지 않는다. (배치 하나 = insert 문장 하나)
+    @PostMapping(value = "/api/articles/import",
+            consumes = {"text/csv", "application/x-ndjson", "application/ndjson"})
+    @QueryBudget(statements = -1)
+    public void importArticles(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ArticleImportService.Format format = MediaType.parseMediaType(request.getContentType()).getSubtype().equals("csv")
+                ? ArticleImportService.Format.CSV : ArticleImportService.Format.NDJSON;
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/x-ndjson;charset=UTF-8");
+        PrintWriter writer = response.getWriter();
+        articleImportService.importArticles(format, request.getInputStream(), report -> {
+            try {
+                writer.println(objectMapper.writeValueAsString(report));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+            if (!"error".equals(report.getType())) {
+                writer.flush();
+            }
+        });
+        writer.flush();
+    }
+
     // PATCH
     // 게시글 수정 요청
     @PatchMapping("/api/articles/{id}")
+    @QueryBudget(statements = 2)
     public  ResponseEntity<Article> update(@PathVariable("id")Long id,@RequestBody ArticleForm dto){
         // 서비스를 통해 게시글 수정
         Article updated = articleService.update(id,dto);
@@ -72,8 +249,30 @@ public class ArticleApiController {
                 ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }
 
+    // 게시글 수정 요청 (JSON Merge Patch, Content-Type: application/merge-patch+json)
+    // 본문에 있는 필드만 수정하고, 값이 null인 필드는 비운다. (예: {"title":"제목 수정"})
+    @PatchMapping(value = "/api/articles/{id}", consumes = MERGE_PATCH_JSON)
+    @QueryBudget(statements = 2)
+    public ResponseEntity<Article> mergePatch(@PathVariable("id") Long id, @RequestBody JsonNode patch){
+        Article updated = articleService.mergePatch(id, patch);
+        return (updated != null) ? ResponseEntity.status(HttpStatus.OK).body(updated) :
+                ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+
+    // 게시글 내용 부분 수정 요청 (Content-Type: application/vnd.ddit.text-delta+json, 형식은 ArticleDelta 참고)
+    // 긴 내용 중 일부만 고칠 때 내용 전체 대신 바뀐 구간만 보낸다.
+    @PatchMapping(value = "/api/articles/{id}", consumes = TEXT_DELTA_JSON)
+    @QueryBudget(statements = 2)
+    public ResponseEntity<Article> applyDelta(@PathVariable("id") Long id, @RequestBody ArticleDelta delta){
+        Article updated = articleService.applyDelta(id, delta);
+        return (updated != null) ? ResponseEntity.status(HttpStatus.OK).body(updated) :
+                ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+
     // 게시글 삭제 요청
+    // 대상 조회, 게시글 삭제, 조회수 삭제
     @DeleteMapping("/api/articles/{id}")
+    @QueryBudget(statements = 3)
     public ResponseEntity<Article> delete(@PathVariable("id") Long id){
         Article deleted = articleService.delete(id);
 
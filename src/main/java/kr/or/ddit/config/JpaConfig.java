@@ -0,0 +1,36 @@
+package kr.or.ddit.config;
+
+import kr.or.ddit.jpa.QueryCountingDataSource;
+import kr.or.ddit.jpa.QueryCountingInterceptor;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// JPA(Hibernate) 추가 설정
+@Configuration
+public class JpaConfig {
+
+    // 조회 행 수를 세기 위한 Interceptor 등록
+    // 카운터(QueryCounter)가 시작된 스레드에서만 세므로 평소에는 ThreadLocal 조회 비용만 든다.
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.INTERCEPTOR, new QueryCountingInterceptor());
+    }
+
+    // SQL 실행 횟수는 DataSource(커넥션) 단위로 센다.
+    // Hibernate와 JdbcTemplate이 같은 DataSource를 사용하므로 두 경로의 SQL이 모두 세어진다.
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return (bean instanceof DataSource dataSource && !(bean instanceof QueryCountingDataSource))
+                        ? new QueryCountingDataSource(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package kr.or.ddit.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 메서드 실행 설정 (조회수 반영 ArticleViewService.flush() 등)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,20 @@
+package kr.or.ddit.config;
+
+import kr.or.ddit.jpa.QueryBudgetInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// 스프링 MVC 추가 설정
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private QueryBudgetInterceptor queryBudgetInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetInterceptor);
+    }
+}
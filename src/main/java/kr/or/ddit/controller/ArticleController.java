@@ -3,16 +3,22 @@ package kr.or.ddit.controller;
 import kr.or.ddit.dto.ArticleForm;
 import kr.or.ddit.entity.Article;
 import kr.or.ddit.repository.ArticleRepository;
+import kr.or.ddit.service.ArticleGroupCommitService;
+import kr.or.ddit.service.ArticleIdFilterService;
+import kr.or.ddit.service.ArticleService;
+import kr.or.ddit.service.ArticleViewService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import java.util.ArrayList;
+import java.util.List;
 
 // 컨트롤러 선언 : 해당 파일이 컨트롤러임을 선언합니다.(@Controller)
 // Lombok의 log를 출력할 때 사용할 .info, .debug와 같은 메서드를 활용할 때 @Slf4j 어노테이션을 활용합니다.
@@ -28,6 +34,25 @@ public class ArticleController {
     @Autowired
     private ArticleRepository articleRepository;
 
+    // 등록/수정/삭제는 통계 등 부가 처리가 함께 이뤄지도록 서비스를 통해 처리한다.
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleListStreamingView articleListStreamingView;
+
+    @Autowired
+    private ArticleViewService articleViewService;
+
+    @Autowired
+    private ArticleIdFilterService articleIdFilterService;
+
+    @Autowired
+    private ArticleGroupCommitService articleGroupCommitService;
+
+    @Value("${ddit.articles.stream-render:true}")
+    private boolean streamRender;
+
     // URL 요청 접수
     // 뷰(등록페이지) 페이지를 보여주기 위해 newArticleForm() 메서드를 추가
     @GetMapping("/articles/new")
@@ -42,26 +67,29 @@ public class ArticleController {
     // 이때, 괄호 안에는 받는 URL 주소를 넣는다.
     // new.mustache 에서 form 태그에 action 속성에 맵핑된 '/articles/create'로 설정했기 때문에 맵핑될 수 있다.
     @PostMapping("/articles/create")
-    public String createArticle(ArticleForm form){
+    public String createArticle(ArticleForm form, RedirectAttributes ra){
         // ArticleForm 타입의 form 객체를 매개변수로 선언합니다.
         // 폼에서 전송한 데이터가 dto에 잘 담겼는지 확인하기 위해서 출력문을 추가함
         
         // 로깅을 사용하기 위해 클래스 명 위에 @Slf4j 어노테이션을 사용합니다.
+        // 문자열을 '+'로 이어 붙이면 로그 레벨과 상관없이 매번 toString()과 문자열 생성이 일어나므로,
+        // '{}' 자리표시자를 사용해 실제로 출력될 때만 메시지가 만들어지도록 합니다.
         // dto에 입력한 데이터가 정상적으로 바인딩되어 넘어오기 위해서는 mustache 파일에 작성된 form 태그 내에
         // 입력 태그들의 name과 ArticleForm 클래스 내 필드명이 같아야만 값이 정상적으로 바인딩 되어 돌어올 수 있습니다.
-        log.info("createArticle->form :" + form.toString());
+        log.debug("createArticle->form : {}", form);
 
         // JPA를 이용해 엔티티를 db에 저장하기
         // 1. dto를 엔티티로 변환
         Article article = form.toEntity();
         // dto가 엔티티로 잘 변환되었는지 확인함.
-        log.info("createArticle->form: " + article.toString());
+        log.debug("createArticle->form : {}", article);
         
-        // 2. 레퍼지터리로 엔티티를 db에 저장
+        // 2. 서비스(레퍼지터리)로 엔티티를 db에 저장
         // entity로 변환된 article 데이터를 저장 후 saved 객체에 반환
-        Article saved = articleRepository.save(article);
+        // (그룹 커밋 모드이면 동시에 들어온 등록 요청과 함께 저장된다, ArticleGroupCommitService 참고)
+        Article saved = articleGroupCommitService.create(form);
         // article이 db에 잘 저장되는지 확인
-        log.info("createArticle->article: " + saved.toString());
+        log.debug("createArticle->article : {}", saved);
         
         // createAricle->form : ArticleForm{title='제목입니다01',content='내용입니다01'}
         // createArticle->article : Article{id=null, title='제목입니다01', content='내용입니다01'}
@@ -74,6 +102,11 @@ public class ArticleController {
         // 리다이렉트를 작성할 위치
         // 리다이렉트는 클라이언트의 요청을 받아 새로운 URL 주소로 재요청하라고 지시하는 것
         // 형식 :: return "/articles/:URL 주소";
+        // 잘못된 등록 요청(id가 함께 전달된 경우 등)이면 서비스가 null을 반환하므로 등록 화면으로 돌려보낸다.
+        if(saved == null){
+            ra.addFlashAttribute("msg","잘못된 등록 요청입니다.");
+            return "redirect:/articles/new";
+        }
         return "redirect:/articles/" + saved.getId();
     }
     // 데이터 조회 요청 접수
@@ -84,7 +117,7 @@ public class ArticleController {
         // 스프링 부트에서는 @PathVariable 어노테이션에 꼭 -optionParameter 설정을 해주어야만 한다.(그렇지 않으면 에러 발생)
         // - [java.lang.Long] not specified, and parameter name information not available via reflection...
         // - @PathVariable("id") Long id와 같이 작성해야함
-        log.info("요청 경로에 포함된 파라미터 id : " + id);
+        log.debug("요청 경로에 포함된 파라미터 id : {}", id);
 
         // 1. id를 조회해 데이터 가져오기
         // findById()는 JPA의 CrudRepository가 제공하는 메서드로, 특정 엔티티의 id값을 기준으로 데이터를 찾아 Optional 타입으로 반환한다.
@@ -96,7 +129,12 @@ public class ArticleController {
         // [orElse 적용]
         // orElse(null) : id 값으로 데이터를 찾을 때 해당 id와 일치하는 게시글 데이터가 없으면 null을 반환하고,
         //                  값이 있으면 articleEntity 변수에 Article 객체 데이터를 넣어 반환한다.
-        Article articleEntity = articleRepository.findById(id).orElse(null);
+        // 확실히 없는 id(ArticleIdFilterService)이면 db를 조회하지 않는다.
+        Article articleEntity = articleIdFilterService.mightContain(id) ? articleRepository.findById(id).orElse(null) : null;
+        // 조회수는 메모리 카운터에만 기록하고 db에는 주기적으로 모아서 반영된다.
+        if(articleEntity != null){
+            articleViewService.record(id);
+        }
 
         // 2. 모델에 데이터 등록하기
         // 'article'이라는 키로 value인 articleEntity 객체를 추가한다.
@@ -108,25 +146,34 @@ public class ArticleController {
     }
 
     // 데이터 목록 요청 접수
+    // 스트리밍 렌더링 모드(ddit.articles.stream-render=true)이면 목록을 Model에 담지 않고
+    // ArticleListStreamingView가 목록 스냅샷(없으면 db 커서)에서 읽어 온 게시글을 나눠서 바로 응답으로 내보낸다.
     @GetMapping("/articles")
-    public  String index(Model model){  // index() 메소드의 매개변수로 Model 객체를 받아옴(목록 데이터 전달 위함)
+    public  ModelAndView index(Model model){  // index() 메소드의 매개변수로 Model 객체를 받아옴(목록 데이터 전달 위함)
         // 태스팅이란 형변환이라고도 하며 데이터 타입을 변환하는 것을 말합니다.
         // 자바에서 상속 관계가 있는 특정 객체는 상황에 따라 더 넓은 범위로 해석될 수도 있고, 때때로 좁은 범위로 해석될 수도이 있습니다.
         // 이때, 넓은 범위로 해석하는 것을 업캐스팅(Upcasting), 좁은 점위로 해석하는 것을 다운 캐스팅(DownCasting)이라고 합니다.
         // 예를 들어 고양이을 생물로 해석했다면 업캐스팅이고, 생물에서 다시 동물로 해석했다면 다운캐스팅입니다.
 
+        // 0. 스트리밍 렌더링 모드
+        // Model에 담긴 데이터(삭제 완료 메시지 등)는 그대로 뷰로 전달된다.
+        if(streamRender){
+            return new ModelAndView(articleListStreamingView);
+        }
+
         // 1. 모든 데이터 가져오기
         // findAll() 메소드는 원래 반환 타입이 Iterable<> 이지만, ArrayList로 재정의 했기 때문에, 다운 캐스팅입니다.
         // Iterable<Article? articleEntity = articleRepository.findAll(); 은 업캐스팅으로 데이터 변환
         // Interable(I) <- Collection(I) <- List(I) <- ArrayList(C)
-        ArrayList<Article> articleEntityList =  articleRepository.findAll();
+        // 서비스는 메모리의 목록 스냅샷이 있으면 db를 조회하지 않고 스냅샷을 반환한다.
+        List<Article> articleEntityList =  articleService.index();
 
         // 2. 모델에 데이터 등록하기
         model.addAttribute("articleList",articleEntityList);
 
         // 3 뷰 페이지 설정하기
         // articles 디렉토리 안에 index.mustach 파일이 뷰 페이지로 설정
-        return "articles/index";
+        return new ModelAndView("articles/index");
     }
 
     // 데이터 수정 화면 요청 접수
@@ -156,12 +203,12 @@ public class ArticleController {
         // GET : 데이터 조회 요청(select)
         // PATCH(PUT) : 데이터 수정 요청(update)
         // DELETE : 데이터 삭제 요청(delete)
-        log.info("update->form: " + form.toString());
+        log.debug("update->form : {}", form);
 
         // 1. dto를 엔티티로 변환
         // dto(form)를 엔티티(articleEntity)로 변환
         Article articleEntity = form.toEntity();
-        log.info("update->articleEntity : " + articleEntity);
+        log.debug("update->articleEntity : {}", articleEntity);
 
         // 2. 엔티티를 db에 저장
         // 데이터를 새로 생성하는 것이 아니라 수정하려는 것이다.
@@ -173,7 +220,7 @@ public class ArticleController {
         // 2-2 기존 데이터 값을 갱신하기
         // 기존 데이터가 존재한다면, 수정할 수 있는 데이터가 존재하게 되는 경우
         if(target != null){
-            articleRepository.save(articleEntity);  // 엔티티를 db에 저장(갱신)
+            articleService.update(articleEntity.getId(), form);  // 엔티티를 db에 저장(갱신)
         }
 
 
@@ -192,8 +239,8 @@ public class ArticleController {
         // 2. 대상 엔티티 삭제하기
         // 삭제할 대상이 있는지 확인
         if(target != null){
-            // delete() 메소드로 대상 삭제
-            articleRepository.delete(target);
+            // 서비스의 delete() 메소드로 대상 삭제
+            articleService.delete(id);
 
             // 일회성 메시지를 전달하기 위한 설정
             // RedirectAttributes 객체는 객체명에서도 힌트를 얻을 수 있듯이 페이지 이동방식이 리다이렉트 인 경우 일회성 데이터를
@@ -0,0 +1,103 @@
+package kr.or.ddit.controller;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import kr.or.ddit.entity.Article;
+import kr.or.ddit.service.ArticleService;
+import kr.or.ddit.service.ArticleSnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.View;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+// 게시글 목록(articles/index) 스트리밍 렌더링 뷰
+// 기본 MustacheView는 목록 전체를 조회해 페이지 전체를 버퍼에 만든 뒤에 응답을 보내므로,
+// 게시글이 많으면 첫 바이트가 나가기까지 오래 걸린다.
+// 이 뷰는 페이지를 세 부분으로 나눠 순서대로 내보낸다.
+// 1. articles/index-top : 레이아웃(layouts/header, layouts/aside)과 표 머리, 조회 전에 바로 flush
+// 2. articles/row : 게시글을 chunkSize 건씩 렌더링하고 flush
+//    (목록 스냅샷이 있으면 스냅샷에서, 없으면 db 커서에서 읽어 온다)
+// 3. articles/index-bottom : 표 닫기, footer, 스크립트
+@Component
+public class ArticleListStreamingView implements View {
+
+    private static final String CONTENT_TYPE = "text/html;charset=UTF-8";
+
+    @Autowired
+    private Mustache.Compiler compiler;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleSnapshotService articleSnapshotService;
+
+    @Value("${ddit.articles.stream-chunk-size:200}")
+    private int chunkSize;
+
+    private Template top;
+    private Template row;
+    private Template bottom;
+
+    // 템플릿은 한 번만 컴파일해 두고 재사용한다.
+    @PostConstruct
+    void compileTemplates() {
+        top = compiler.loadTemplate("articles/index-top");
+        row = compiler.loadTemplate("articles/row");
+        bottom = compiler.loadTemplate("articles/index-bottom");
+    }
+
+    @Override
+    public String getContentType() {
+        return CONTENT_TYPE;
+    }
+
+    @Override
+    public void render(Map<String, ?> model, HttpServletRequest request, HttpServletResponse response)
+            throws Exception {
+        response.setContentType(CONTENT_TYPE);
+        PrintWriter writer = response.getWriter();
+
+        // 1. 머리 부분은 조회 전에 바로 보낸다.
+        top.execute(model, writer);
+        flush(writer);
+
+        // 2. 게시글은 chunk 단위로 렌더링 후 보낸다.
+        List<Article> snapshot = articleSnapshotService.list();
+        if (snapshot != null) {
+            for (int from = 0; from < snapshot.size(); from += chunkSize) {
+                renderRows(snapshot.subList(from, Math.min(from + chunkSize, snapshot.size())), writer);
+            }
+        } else {
+            articleService.forEachChunk(chunkSize, chunk -> renderRows(chunk, writer));
+        }
+
+        // 3. 나머지 부분
+        bottom.execute(model, writer);
+        writer.flush();
+    }
+
+    private void renderRows(List<Article> chunk, PrintWriter writer) {
+        for (Article article : chunk) {
+            row.execute(article, writer);
+        }
+        flush(writer);
+    }
+
+    // 클라이언트 연결이 끊겼으면 남은 행을 더 읽지 않도록 예외로 중단한다.
+    private static void flush(PrintWriter writer) {
+        writer.flush();
+        if (writer.checkError()) {
+            throw new UncheckedIOException(new IOException("client disconnected while streaming articles"));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package kr.or.ddit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 2차 캐시(Article 엔티티), 쿼리 캐시 통계 응답 dto
+// 통계를 켜지 않았으면(ddit.cache.statistics=false, 기본) statisticsEnabled=false이고 나머지 값은 0이다.
+// - hitRatio : hits / (hits + misses), 조회가 없었으면 0
+// - statements : 서버 기동 후 실행된 전체 SQL 문장 수
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleCacheStats {
+    private boolean statisticsEnabled;
+    private long entityHits;
+    private long entityMisses;
+    private long entityPuts;
+    private double entityHitRatio;
+    private long queryHits;
+    private long queryMisses;
+    private long queryPuts;
+    private double queryHitRatio;
+    private long statements;
+}
@@ -0,0 +1,81 @@
+package kr.or.ddit.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+// 게시글 부분 수정(text-delta) 요청 dto
+// 내용 전체를 다시 보내지 않고, 바뀐 구간만 편집 연산(ops)으로 보낸다.
+// {
+//   "title" : "제목 수정",            (선택, 없으면 제목은 그대로)
+//   "baseLength" : 1234,             (선택, 편집 전 내용 길이, 다르면 다른 수정이 먼저 반영된 것이므로 거부)
+//   "ops" : [
+//     {"offset":10, "length":5, "replacement":"새 문장"},   (10번째 글자부터 5글자를 교체)
+//     {"offset":200, "length":0, "replacement":"추가"}      (200번째 글자 앞에 삽입)
+//   ]
+// }
+// - offset, length는 편집 전 내용 기준이고 글자 단위는 UTF-16(자바 String, 자바스크립트 문자열과 같음)이다.
+// - ops는 offset 순서대로, 서로 겹치지 않아야 한다.
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@ToString
+public class ArticleDelta {
+    private String title;
+    private Integer baseLength;
+    private List<Op> ops;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Getter
+    @Setter
+    @ToString
+    public static class Op {
+        private int offset;
+        private int length;
+        private String replacement;
+    }
+
+    // content에 적용할 수 있는지 검증, 문제가 없으면 null, 있으면 오류 메시지를 반환한다.
+    public String validate(String content) {
+        int contentLength = content != null ? content.length() : 0;
+        if (baseLength != null && baseLength != contentLength) {
+            return "baseLength " + baseLength + " does not match current content length " + contentLength;
+        }
+        if (ops == null) {
+            return null;
+        }
+        int end = 0;
+        for (Op op : ops) {
+            if (op == null || op.replacement == null) {
+                return "replacement must not be null";
+            }
+            if (op.offset < end || op.length < 0 || op.offset > contentLength - op.length) {
+                return "op (offset " + op.offset + ", length " + op.length + ") is out of order or out of range";
+            }
+            end = op.offset + op.length;
+        }
+        return null;
+    }
+
+    // 편집 연산을 적용한 새 내용, validate()를 통과한 경우에만 호출한다.
+    // 바뀌지 않은 구간은 그대로 복사하므로 내용 길이 + 편집 크기만큼만 처리한다.
+    public String applyTo(String content) {
+        if (ops == null || ops.isEmpty()) {
+            return content;
+        }
+        String source = content != null ? content : "";
+        int delta = 0;
+        for (Op op : ops) {
+            delta += op.replacement.length() - op.length;
+        }
+        StringBuilder result = new StringBuilder(source.length() + delta);
+        int position = 0;
+        for (Op op : ops) {
+            result.append(source, position, op.offset).append(op.replacement);
+            position = op.offset + op.length;
+        }
+        return result.append(source, position, source.length()).toString();
+    }
+}
@@ -0,0 +1,37 @@
+package kr.or.ddit.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 게시글 일괄 등록(import) 진행 상황 응답 dto
+// 응답은 NDJSON(한 줄에 JSON 하나)으로 아래 세 종류가 순서대로 나간다.
+// - error : 등록하지 못한 행 (line : 입력 파일의 줄 번호, message : 사유)
+// - progress : 배치 하나가 커밋될 때마다 누적 건수
+// - done : 마지막 결과
+@AllArgsConstructor
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleImportReport {
+    private String type;
+    private Long line;
+    private String message;
+    private Long rows;
+    private Long imported;
+    private Long failed;
+    private Long elapsedMillis;
+
+    public static ArticleImportReport error(long line, String message) {
+        return new ArticleImportReport("error", line, message, null, null, null, null);
+    }
+
+    public static ArticleImportReport progress(long rows, long imported, long failed, long elapsedMillis) {
+        return new ArticleImportReport("progress", null, null, rows, imported, failed, elapsedMillis);
+    }
+
+    public static ArticleImportReport done(long rows, long imported, long failed, long elapsedMillis) {
+        return new ArticleImportReport("done", null, null, rows, imported, failed, elapsedMillis);
+    }
+}
@@ -0,0 +1,28 @@
+package kr.or.ddit.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import kr.or.ddit.entity.Article;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 게시글 여러 건 조회(multi-get) 응답 dto, 요청한 id 하나당 하나씩 요청 순서대로 담긴다.
+// - 있는 게시글 : {"id":1,"found":true,"article":{...}}
+// - 없는 게시글 : {"id":7,"found":false}
+@AllArgsConstructor
+@Getter
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ArticleLookup {
+    private Long id;
+    private boolean found;
+    private Article article;
+
+    public static ArticleLookup found(Article article) {
+        return new ArticleLookup(article.getId(), true, article);
+    }
+
+    public static ArticleLookup missing(Long id) {
+        return new ArticleLookup(id, false, null);
+    }
+}
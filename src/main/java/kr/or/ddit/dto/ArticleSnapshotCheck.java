@@ -0,0 +1,23 @@
+package kr.or.ddit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 게시글 목록 스냅샷 일관성 점검 결과 dto
+// - missing : db에는 있지만 스냅샷에 없는 게시글 수
+// - extra : 스냅샷에는 있지만 db에 없는 게시글 수
+// - changed : 양쪽에 있지만 제목 또는 내용이 다른 게시글 수
+// - repaired : 불일치가 있어 db 기준으로 스냅샷을 다시 만들었는지 여부
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleSnapshotCheck {
+    private boolean consistent;
+    private long snapshotCount;
+    private long databaseCount;
+    private long missing;
+    private long extra;
+    private long changed;
+    private boolean repaired;
+}
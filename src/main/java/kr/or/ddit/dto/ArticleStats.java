@@ -0,0 +1,27 @@
+package kr.or.ddit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+// 게시글 통계 응답용 dto
+// - totalCount : 전체 게시글 수
+// - totalContentLength / averageContentLength : 내용 길이 합계와 평균
+// - createdCount, updatedCount, deletedCount : 서버 기동 이후 등록/수정/삭제 건수
+// - creationSeries : seriesStartAt부터 bucketMillis 간격으로 나눈 생성 건수(오래된 순)
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleStats {
+    private long totalCount;
+    private long totalContentLength;
+    private double averageContentLength;
+    private long createdCount;
+    private long updatedCount;
+    private long deletedCount;
+    private long bucketMillis;
+    private long seriesStartAt;
+    private List<Long> creationSeries;
+}
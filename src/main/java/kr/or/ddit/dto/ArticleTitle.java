@@ -0,0 +1,14 @@
+package kr.or.ddit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 게시글 id와 제목만 담는 dto (제목 자동완성 응답, 제목 색인 구축용 조회)
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleTitle {
+    private Long id;
+    private String title;
+}
@@ -0,0 +1,15 @@
+package kr.or.ddit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 인기 게시글 응답 dto, views는 기간 내 조회수의 추정값(실제보다 작지 않음)
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleTrend {
+    private Long id;
+    private String title;
+    private long views;
+}
@@ -0,0 +1,14 @@
+package kr.or.ddit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+// 게시글 조회수 응답 dto (db에 반영된 값 + 아직 반영 대기 중인 증가분)
+@AllArgsConstructor
+@Getter
+@ToString
+public class ArticleViews {
+    private Long id;
+    private long views;
+}
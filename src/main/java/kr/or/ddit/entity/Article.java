@@ -1,10 +1,14 @@
 package kr.or.ddit.entity;
 
 import jakarta.persistence.*;
+import kr.or.ddit.jpa.TimeOrderedId;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 
 // dto는 vo의 역할을 하는 클래스를 모아둘 수 있는 영역입니다.
@@ -12,11 +16,20 @@ import lombok.ToString;
 //@NoArgsConstructor 어노테이션은 ArticleForm 클래스에 선언된 필드를 사용하지 않고 기본 생성자를 생성할 때 사용합니다
 //@Getter 와 @Setter 어노테이션은 dto 클래스의 getter/setter 메서드를 만들 때 사용합니다.
 //@ToString 어노테이션은 toString() 메소드를 자동 생성할 때 사용합니다.
+//@DynamicUpdate 어노테이션은 수정 시 값이 바뀐 열만 UPDATE 문에 넣을 때 사용합니다.
+// (제목만 수정했는데 긴 내용까지 다시 저장하지 않도록)
 @AllArgsConstructor
 @ToString
 @NoArgsConstructor
 @Getter
 @Entity
+@DynamicUpdate
+//@Cacheable, @Cache 어노테이션은 조회한 엔티티를 2차 캐시(여러 요청이 공유하는 캐시)에 보관할 때 사용합니다.
+// findById()는 캐시에 있으면 db를 조회하지 않고, 수정/삭제 시에는 Hibernate가 캐시 항목도 함께 갱신/삭제한다.
+// READ_WRITE : 수정 중인 항목은 커밋될 때까지 잠가 두어 다른 요청이 수정 전 값을 캐시에 넣지 않도록 한다.
+// 캐시 크기와 만료 시간은 application.conf 참고
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Article {
     // PK와 같은 대표값을 id로 선언합니다.
     // 대표값은 사람으로 치면 주민번호와 같습니다.
@@ -25,8 +38,12 @@ public class Article {
     // @Id : Entity와 대표값 설정
     // @GeneratedValue : 자동 생성 기능(PK는 번호값으로 자동증가의 값으로 활용 )
     // - strategy = GenerationType.IDENTITY : 중복되지 않는 pk 번호를 만들어서 자동 생성해준다.
+    // @TimeOrderedId : @GeneratedValue(strategy = GenerationType.IDENTITY) 대신 사용
+    // - 기본(identity)은 IDENTITY와 같고, time-ordered 설정 시 insert 전에 애플리케이션에서
+    //   시간 순서를 가지는 64비트 id를 발급한다. (TimeOrderedIds 참고)
+    // - time-ordered id는 2^53보다 커서 JavaScript의 number로 받으면 정밀도가 손실될 수 있다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @TimeOrderedId
     private Long id;
     // dto 코드를 작성할 때와 같이 title, content 필드를 선언합니다.
     // 두 필드도 db에서 인식할 수 있도록 @Column을 붙인다.
@@ -45,4 +62,13 @@ public class Article {
             this.content = article.getContent();
         }
     }
+
+    // patch()와 달리 null도 그대로 반영한다. (JSON Merge Patch에서 null은 값을 비우라는 의미)
+    public void changeTitle(String title) {
+        this.title = title;
+    }
+
+    public void changeContent(String content) {
+        this.content = content;
+    }
 }
@@ -0,0 +1,25 @@
+package kr.or.ddit.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 게시글 조회수
+// 조회할 때마다 article 행을 수정하면 인기 게시글의 행 잠금 경합이 생기므로 조회수는 별도 테이블에 두고,
+// ArticleViewService가 메모리에 모아 둔 증가분을 주기적으로 한 번에 더한다.
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@ToString
+@Entity
+public class ArticleView {
+    // 게시글 id (article.id)
+    @Id
+    private Long articleId;
+    @Column(nullable = false)
+    private long viewCount;
+}
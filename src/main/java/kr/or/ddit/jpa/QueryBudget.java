@@ -0,0 +1,16 @@
+package kr.or.ddit.jpa;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 컨트롤러 메서드(엔드포인트)별 SQL 문장 수 제한
+// 예) @QueryBudget(statements = 1) : 해당 요청에서는 SQL을 1번까지만 실행해야 한다.
+// 어노테이션이 없는 엔드포인트는 ddit.query-budget.default-statements 값을 사용한다.
+// 0보다 작은 값은 제한 없음(세기만 한다). 문장 수가 요청 크기에 비례하는 엔드포인트(일괄 등록)에 사용한다.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+    int statements();
+}
@@ -0,0 +1,9 @@
+package kr.or.ddit.jpa;
+
+// 요청 하나에서 허용된 SQL 문장 수를 넘었을 때 발생 (ddit.query-budget.fail=true 인 경우)
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(int budget, int count, String sql) {
+        super("query budget exceeded : " + count + " > " + budget + ", sql : " + sql);
+    }
+}
@@ -0,0 +1,56 @@
+package kr.or.ddit.jpa;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// 요청 단위 SQL 문장 수 감시
+// 컨트롤러 메서드 실행 전에 QueryCounter를 시작하고, 요청이 끝나면 허용 문장 수를 넘었는지 확인한다.
+// - 허용 문장 수 : 메서드의 @QueryBudget 값, 없으면 ddit.query-budget.default-statements
+// - ddit.query-budget.fail=true 이면 넘는 순간 QueryBudgetExceededException으로 요청을 실패시킨다.
+// N+1 조회처럼 요청 하나에서 쿼리가 늘어나는 문제를 경고 로그로 바로 확인할 수 있다.
+@Slf4j
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    @Value("${ddit.query-budget.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ddit.query-budget.default-statements:10}")
+    private int defaultStatements;
+
+    @Value("${ddit.query-budget.fail:false}")
+    private boolean failOnExceed;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (enabled && handler instanceof HandlerMethod handlerMethod) {
+            QueryBudget budget = handlerMethod.getMethodAnnotation(QueryBudget.class);
+            QueryCounter.begin(budget != null ? budget.statements() : defaultStatements, failOnExceed);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!enabled || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        QueryCounter counter = QueryCounter.current();
+        if (counter != null) {
+            if (counter.isExceeded()) {
+                log.warn("query budget exceeded {} {} : statements {} > {}, rows {}", request.getMethod(),
+                        request.getRequestURI(), counter.getStatementCount(), counter.getStatementBudget(),
+                        counter.getRowCount());
+            } else {
+                log.debug("queries {} {} : statements {}, rows {}", request.getMethod(), request.getRequestURI(),
+                        counter.getStatementCount(), counter.getRowCount());
+            }
+        }
+        QueryCounter.end();
+    }
+}
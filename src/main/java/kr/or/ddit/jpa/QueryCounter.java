@@ -0,0 +1,76 @@
+package kr.or.ddit.jpa;
+
+// 요청(또는 테스트) 하나 동안 실행된 SQL 문장 수와 읽어 온 엔티티(행) 수를 세는 카운터
+// 요청을 처리하는 스레드에 묶어 두기 위해 ThreadLocal을 사용하고,
+// 카운터가 없는 스레드(기동 시 DDL, data.sql 등)에서는 아무것도 세지 않는다.
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCounter> CURRENT = new ThreadLocal<>();
+
+    // 허용 문장 수, 0보다 작으면 제한 없음
+    private final int statementBudget;
+    // true : 허용 문장 수를 넘는 순간 예외 발생, false : 세기만 한다(경고는 호출하는 쪽에서)
+    private final boolean failOnExceed;
+    private final QueryCounter previous;
+
+    private int statementCount;
+    private long rowCount;
+
+    private QueryCounter(int statementBudget, boolean failOnExceed, QueryCounter previous) {
+        this.statementBudget = statementBudget;
+        this.failOnExceed = failOnExceed;
+        this.previous = previous;
+    }
+
+    public static QueryCounter begin(int statementBudget, boolean failOnExceed) {
+        QueryCounter counter = new QueryCounter(statementBudget, failOnExceed, CURRENT.get());
+        CURRENT.set(counter);
+        return counter;
+    }
+
+    public static QueryCounter current() {
+        return CURRENT.get();
+    }
+
+    // 현재 카운터를 끝내고, 바깥에 카운터가 있었다면 그 카운터로 되돌린다.
+    public static void end() {
+        QueryCounter counter = CURRENT.get();
+        if (counter != null && counter.previous != null) {
+            CURRENT.set(counter.previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    void onStatement(String sql) {
+        statementCount++;
+        if (failOnExceed && isExceeded()) {
+            throw new QueryBudgetExceededException(statementBudget, statementCount, sql);
+        }
+    }
+
+    void onRowLoaded() {
+        rowCount++;
+    }
+
+    public void reset() {
+        statementCount = 0;
+        rowCount = 0;
+    }
+
+    public boolean isExceeded() {
+        return statementBudget >= 0 && statementCount > statementBudget;
+    }
+
+    public int getStatementBudget() {
+        return statementBudget;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+}
@@ -0,0 +1,94 @@
+package kr.or.ddit.jpa;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// 커넥션 단위로 SQL 실행 횟수를 세는 DataSource (JpaConfig에서 애플리케이션 DataSource를 감싼다)
+// Hibernate가 만든 SQL뿐 아니라 JdbcTemplate으로 직접 실행하는 SQL(일괄 등록 등)도 같은 카운터로 센다.
+// Statement의 execute*() 호출 한 번을 문장 하나로 센다. (배치는 executeBatch() 한 번 = 문장 하나)
+// 카운터(QueryCounter)가 없는 스레드에서는 원래 객체의 메서드를 그대로 호출한다.
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // createStatement(), prepareStatement(), prepareCall()이 돌려준 Statement를 감싼다.
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = QueryCountingDataSource.invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                String sql = (args != null && args.length > 0 && args[0] instanceof String text) ? text : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class
+                        : Statement.class;
+                return Proxy.newProxyInstance(QueryCountingDataSource.class.getClassLoader(),
+                        new Class<?>[]{type}, new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    // execute로 시작하는 메서드(execute, executeQuery, executeUpdate, executeBatch 등)를 실행 전에 센다.
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().startsWith("execute")) {
+                QueryCounter counter = QueryCounter.current();
+                if (counter != null) {
+                    counter.onStatement(args != null && args.length > 0 && args[0] instanceof String sql
+                            ? sql : preparedSql);
+                }
+            }
+            return QueryCountingDataSource.invoke(target, method, args);
+        }
+    }
+}
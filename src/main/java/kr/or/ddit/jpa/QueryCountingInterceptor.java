@@ -0,0 +1,17 @@
+package kr.or.ddit.jpa;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+// 엔티티가 조회 결과로부터 만들어질 때(onLoad)마다 현재 스레드의 QueryCounter에 행 수를 더한다.
+public class QueryCountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        QueryCounter counter = QueryCounter.current();
+        if (counter != null) {
+            counter.onRowLoaded();
+        }
+        return false;
+    }
+}
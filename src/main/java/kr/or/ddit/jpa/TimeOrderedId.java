@@ -0,0 +1,18 @@
+package kr.or.ddit.jpa;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 엔티티 id 생성 방식 선택 어노테이션 (@GeneratedValue 대신 사용)
+// spring.jpa.properties.ddit.id.strategy 값에 따라
+// - identity : 기존과 같이 db의 자동 증가(IDENTITY) 값 사용
+// - time-ordered : 애플리케이션에서 TimeOrderedIds로 id를 발급해 insert 전에 채운다.
+@IdGeneratorType(TimeOrderedIdGenerator.class)
+@Target({ElementType.FIELD, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TimeOrderedId {
+}
@@ -0,0 +1,55 @@
+package kr.or.ddit.jpa;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.AnnotationBasedGenerator;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.GeneratorCreationContext;
+import org.hibernate.id.IdentityGenerator;
+import org.hibernate.mapping.Column;
+
+import java.lang.reflect.Member;
+import java.util.Map;
+
+// @TimeOrderedId가 붙은 id의 Hibernate 생성기
+// IdentityGenerator를 상속해 두 방식 모두 같은 테이블 구조를 사용한다.
+// - id 열은 항상 'generated by default as identity'로 만든다.
+//   (data.sql처럼 id 없이 insert 하는 경우는 db가, 그 외에는 애플리케이션이 값을 채운다.)
+// - time-ordered 방식이면 insert 전에 id를 발급하므로(BeforeExecutionGenerator),
+//   insert 후 생성된 키를 다시 읽어 올 필요가 없고 JDBC 배치 insert도 가능하다.
+public class TimeOrderedIdGenerator extends IdentityGenerator
+        implements BeforeExecutionGenerator, AnnotationBasedGenerator<TimeOrderedId> {
+
+    public static final String STRATEGY = "ddit.id.strategy";
+    public static final String NODE_ID = "ddit.id.node-id";
+    public static final String TIME_ORDERED = "time-ordered";
+
+    private TimeOrderedIds ids;
+
+    // Hibernate가 생성기를 만든 직후 호출, 설정값(spring.jpa.properties.*)을 읽어 방식을 정한다.
+    @Override
+    public void initialize(TimeOrderedId annotation, Member member, GeneratorCreationContext context) {
+        Map<String, Object> settings = context.getServiceRegistry()
+                .requireService(ConfigurationService.class).getSettings();
+        boolean timeOrdered = TIME_ORDERED.equals(String.valueOf(settings.getOrDefault(STRATEGY, "identity")));
+        long nodeId = Long.parseLong(String.valueOf(settings.getOrDefault(NODE_ID, "0")));
+        this.ids = timeOrdered ? TimeOrderedIds.forNode(nodeId) : null;
+
+        for (Column column : context.getProperty().getValue().getColumns()) {
+            column.setIdentity(true);
+        }
+    }
+
+    // true : insert 시 db가 생성(IDENTITY), false : insert 전에 generate()로 발급
+    @Override
+    public boolean generatedOnExecution() {
+        return ids == null;
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return ids.nextId();
+    }
+}
@@ -0,0 +1,66 @@
+package kr.or.ddit.jpa;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 시간 순서를 가지는 64비트 id 생성기 (db 없이 애플리케이션에서 바로 발급)
+//
+//  | 0 | 41비트 : EPOCH 이후 경과 ms | 10비트 : 노드 번호 | 12비트 : 같은 ms 안의 순번 |
+//
+// - 노드(서버)마다 다른 nodeId를 주면 여러 서버가 동시에 발급해도 겹치지 않는다. (0 ~ 1023)
+// - 한 노드에서는 1ms에 4096개까지 발급하며, 넘치면 다음 ms의 값을 미리 당겨 쓴다.
+// - 마지막으로 발급한 (시간, 순번)을 AtomicLong 하나에 담아 CAS로 갱신하므로 락이 필요 없다.
+// - 시계가 뒤로 가더라도 마지막 값에서 계속 증가시키므로 발급 순서는 항상 증가한다.
+public class TimeOrderedIds {
+
+    // 2025-01-01T00:00:00Z, 여기서부터 약 69년 동안 사용할 수 있다.
+    public static final long EPOCH = 1735689600000L;
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // 같은 노드 번호로 만든 생성기가 둘 이상이면 id가 겹칠 수 있으므로, 한 JVM에서는 노드별로 하나만 공유한다.
+    private static final Map<Long, TimeOrderedIds> NODES = new ConcurrentHashMap<>();
+
+    private final long nodeId;
+    // (EPOCH 이후 경과 ms << SEQUENCE_BITS) | 순번
+    private final AtomicLong lastState = new AtomicLong();
+
+    public TimeOrderedIds(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + " : " + nodeId);
+        }
+        this.nodeId = nodeId;
+    }
+
+    public static TimeOrderedIds forNode(long nodeId) {
+        return NODES.computeIfAbsent(nodeId, TimeOrderedIds::new);
+    }
+
+    public long nextId() {
+        long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastState.get();
+            // 새 ms이면 순번 0부터, 같은 ms(또는 시계가 뒤로 간 경우)이면 마지막 값 + 1
+            next = (now > previous) ? now : previous + 1;
+        } while (!lastState.compareAndSet(previous, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    // id에 담긴 발급 시각(epoch ms)
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long nodeIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,82 @@
+package kr.or.ddit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 요청 하나 동안 유지되는 로깅 상태
+// - sampled : 이번 요청의 SQL/바인딩 로그를 그대로 출력할지 여부(확률 샘플링 결과)
+// - 샘플링되지 않은 요청의 SQL 로그는 출력하지 않고 건수만 센다.
+//   maxEvents가 0보다 크면 최대 maxEvents 건까지 메모리에 보관했다가,
+//   요청이 느린 것으로 판명되면(slow request) 그때 한꺼번에 출력(replay)한다.
+// 요청을 처리하는 스레드에 묶어 두기 위해 ThreadLocal을 사용한다.
+public final class RequestLogContext {
+
+    private static final ThreadLocal<RequestLogContext> CURRENT = new ThreadLocal<>();
+    private static final String FQCN = RequestLogContext.class.getName();
+
+    private final boolean sampled;
+    private final int maxEvents;
+    private final List<BufferedEvent> events = new ArrayList<>();
+    private int droppedCount;
+
+    private RequestLogContext(boolean sampled, int maxEvents) {
+        this.sampled = sampled;
+        this.maxEvents = maxEvents;
+    }
+
+    public static RequestLogContext begin(boolean sampled, int maxEvents) {
+        RequestLogContext context = new RequestLogContext(sampled, maxEvents);
+        CURRENT.set(context);
+        return context;
+    }
+
+    public static RequestLogContext current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public int getBufferedCount() {
+        return events.size();
+    }
+
+    public int getDroppedCount() {
+        return droppedCount;
+    }
+
+    // 메시지 문자열을 만들지 않고 인자만 보관한다. (출력할 때 포맷팅)
+    // 보관하지 않는 경우(maxEvents가 0이거나 가득 참)에는 객체를 만들지 않고 건수만 센다.
+    void buffer(Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (events.size() >= maxEvents) {
+            droppedCount++;
+            return;
+        }
+        events.add(new BufferedEvent(System.currentTimeMillis(), logger, level, format, params, t));
+    }
+
+    // 보관해 둔 로그를 appender로 바로 전달한다.
+    // logger.debug()를 다시 호출하면 TurboFilter를 또 거치므로 callAppenders()로 직접 넘긴다.
+    public void replay() {
+        for (BufferedEvent buffered : events) {
+            LoggingEvent event = new LoggingEvent(FQCN, buffered.logger, buffered.level,
+                    buffered.format, buffered.throwable, buffered.params);
+            event.setTimeStamp(buffered.timeStamp);
+            buffered.logger.callAppenders(event);
+        }
+        events.clear();
+    }
+
+    private record BufferedEvent(long timeStamp, Logger logger, Level level,
+                                 String format, Object[] params, Throwable throwable) {
+    }
+}
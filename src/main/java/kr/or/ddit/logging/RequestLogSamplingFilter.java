@@ -0,0 +1,53 @@
+package kr.or.ddit.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 운영(prod) 로깅 모드용 요청 필터
+// 요청이 들어오면 sql-sample-rate 확률로 이번 요청의 SQL 로그를 출력할지 정하고(RequestLogContext),
+// 샘플링되지 않았더라도 처리 시간이 slow-request-ms 이상이면 경고 로그를 남기고,
+// 보관해 둔 SQL 로그(요청당 최대 max-buffered-events 건)도 모두 출력한다.
+@Slf4j
+@Component
+@Profile("prod")
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+
+    @Value("${ddit.logging.sql-sample-rate:0.01}")
+    private double sqlSampleRate;
+
+    @Value("${ddit.logging.slow-request-ms:500}")
+    private long slowRequestMillis;
+
+    @Value("${ddit.logging.max-buffered-events:64}")
+    private int maxBufferedEvents;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sqlSampleRate;
+        RequestLogContext context = RequestLogContext.begin(sampled, maxBufferedEvents);
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (!sampled && elapsedMillis >= slowRequestMillis) {
+                log.warn("slow request {} {} : {}ms, sql logs : {} (not buffered {})", request.getMethod(),
+                        request.getRequestURI(), elapsedMillis, context.getBufferedCount() + context.getDroppedCount(),
+                        context.getDroppedCount());
+                context.replay();
+            }
+            RequestLogContext.end();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package kr.or.ddit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+
+// SQL, 바인딩 파라미터 로그 샘플링 필터 (logback-spring.xml의 prod 프로파일에서 등록)
+// TurboFilter는 로그 이벤트(LoggingEvent)가 만들어지기 전에 호출되므로, 출력하지 않을 로그는
+// 메시지 포맷팅이나 appender 호출 비용 없이 여기서 걸러진다.
+// - 요청 밖(기동 시 DDL, 스케줄러 등)이거나 샘플링된 요청이면 그대로 통과(NEUTRAL)
+// - 샘플링되지 않은 요청이면 RequestLogContext에 보관하고 출력은 막는다(DENY)
+public class SqlLogSamplingTurboFilter extends TurboFilter {
+
+    // 샘플링 대상 로거 이름(접두어), 쉼표로 구분
+    private String[] loggers = {"org.hibernate.SQL", "org.hibernate.orm.jdbc.bind"};
+
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format이 null이면 isDebugEnabled()와 같은 레벨 확인 호출이므로 관여하지 않는다.
+        if (!isStarted() || format == null) {
+            return FilterReply.NEUTRAL;
+        }
+        RequestLogContext context = RequestLogContext.current();
+        if (context == null || context.isSampled() || !isTarget(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        // 원래 출력되지 않을 레벨이면 보관할 필요도 없다.
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        context.buffer(logger, level, format, params, t);
+        return FilterReply.DENY;
+    }
+
+    private boolean isTarget(String loggerName) {
+        for (String prefix : loggers) {
+            if (loggerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
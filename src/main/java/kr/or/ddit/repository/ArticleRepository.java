@@ -1,9 +1,15 @@
 package kr.or.ddit.repository;
 
+import kr.or.ddit.dto.ArticleTitle;
 import kr.or.ddit.entity.Article;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.ArrayList;
+import java.util.stream.Stream;
 ;
 // dto를 활용해 entity로 변환한 데이터를 레포지터리를 통해 관리하기 위해서 CrudRepository 인터페이스를 가용
 // CrudRepository<Article, Long>
@@ -15,6 +21,34 @@ public interface ArticleRepository extends CrudRepository<Article,Long> {
     // db에 데이터를 생성, 조회, 수정, 삭제하는 기본 동작을 추가 코드로 구현할 필요없이 CrudRepository에서 상속받아 사용할 수 있습니다.
     
     // 기존 Iterable<Article> 타입을 ArrayList 수정
+    // 목록 조회 결과(id 목록)는 쿼리 캐시에 보관하고, 게시글이 등록/수정/삭제되면 Hibernate가 무효화한다.
     @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     ArrayList<Article> findAll();
+
+    // 통계 보정용, 전체 게시글 내용 길이의 합계 (게시글이 없으면 0)
+    @Query("select coalesce(sum(length(a.content)), 0) from Article a")
+    long sumContentLength();
+
+    // 목록 스트리밍 렌더링용, 전체 게시글을 id 순으로 커서(fetch size 단위)로 읽어 온다.
+    // 결과를 한 번에 List로 만들지 않으므로 게시글 수와 상관없이 메모리 사용량이 일정하다.
+    // Stream은 트랜잭션 안에서 사용하고 다 쓰면 닫아야 한다(try-with-resources).
+    // 전체를 한 번 훑는 조회이므로 2차 캐시에 넣지 않는다(CacheMode.IGNORE).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("select a from Article a order by a.id")
+    Stream<Article> streamAll();
+
+    // 게시글 id 필터(ArticleIdFilterService) 구축용, id만 읽어 온다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select a.id from Article a")
+    Stream<Long> streamIds();
+
+    // 제목 자동완성 색인 구축용, 엔티티 대신 id와 제목만 읽어 온다(영속성 컨텍스트에 쌓이지 않음).
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new kr.or.ddit.dto.ArticleTitle(a.id, a.title) from Article a")
+    Stream<ArticleTitle> streamTitles();
 }
@@ -0,0 +1,16 @@
+package kr.or.ddit.repository;
+
+import kr.or.ddit.entity.ArticleView;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+// 게시글 조회수 레포지터리 (증가분 반영은 ArticleViewService가 JDBC 배치로 직접 처리)
+public interface ArticleViewRepository extends CrudRepository<ArticleView, Long> {
+
+    // 게시글 삭제 시 조회수도 함께 삭제 (조회 없이 DELETE 한 번)
+    @Modifying
+    @Query("delete from ArticleView v where v.articleId = :articleId")
+    int deleteByArticleId(@Param("articleId") Long articleId);
+}
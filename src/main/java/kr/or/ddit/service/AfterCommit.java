@@ -0,0 +1,25 @@
+package kr.or.ddit.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 메모리에 유지하는 값(통계, 색인 등)을 db 변경과 맞추기 위한 도우미
+// 트랜잭션 안이면 커밋된 뒤에 실행하고(롤백되면 실행하지 않음), 트랜잭션 밖이면 바로 실행한다.
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    static void run(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
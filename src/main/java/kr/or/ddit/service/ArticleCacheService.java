@@ -0,0 +1,59 @@
+package kr.or.ddit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.or.ddit.dto.ArticleCacheStats;
+import kr.or.ddit.entity.Article;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 2차 캐시 관리 서비스
+// Article 엔티티 캐시와 쿼리 캐시는 Hibernate를 거치는 수정/삭제에 맞춰 자동으로 무효화되지만,
+// JdbcTemplate으로 직접 insert 하는 일괄 등록(ArticleService.createAll())은 Hibernate가 모르므로
+// 쿼리 캐시를 직접 비워야 한다. 새로 insert 된 행은 엔티티 캐시에 없으므로 엔티티 캐시는 그대로 둔다.
+@Service
+public class ArticleCacheService {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // 쿼리 캐시를 지금 비우고, 트랜잭션 안이면 커밋 후에 한 번 더 비운다.
+    // (커밋 전에 다른 요청이 insert 전 목록을 다시 캐시에 넣을 수 있으므로)
+    public void evictQueryResults() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictQueryRegions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sessionFactory.getCache().evictQueryRegions();
+                }
+            });
+        }
+    }
+
+    public ArticleCacheStats stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return new ArticleCacheStats(false, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+        // 엔티티 캐시를 끈 경우 캐시 관련 값은 Long.MIN_VALUE로 나오므로 0으로 본다.
+        EntityStatistics entity = statistics.getEntityStatistics(Article.class.getName());
+        long entityHits = Math.max(0, entity.getCacheHitCount());
+        long entityMisses = Math.max(0, entity.getCacheMissCount());
+        return new ArticleCacheStats(true,
+                entityHits, entityMisses, Math.max(0, entity.getCachePutCount()), ratio(entityHits, entityMisses),
+                statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount(),
+                statistics.getQueryCachePutCount(),
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()),
+                statistics.getPrepareStatementCount());
+    }
+
+    private static double ratio(long hits, long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+}
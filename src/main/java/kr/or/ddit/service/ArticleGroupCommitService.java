@@ -0,0 +1,210 @@
+package kr.or.ddit.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.entity.Article;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 게시글 등록 그룹 커밋 서비스 (ddit.group-commit.enabled=true 일 때만 동작)
+// 등록 요청마다 트랜잭션을 커밋하면 동시 요청이 많을 때 커밋 대기 시간이 처리량을 제한한다.
+// 이 모드에서는 요청 스레드가 등록할 내용을 큐에 넣고 기다리면, 전용 스레드(group-commit)가 모인 요청을
+// ArticleService.createAll()로 한 트랜잭션, 한 번의 배치 insert로 저장하고 커밋한 뒤 각 요청에 자기 게시글(id)을 돌려준다.
+// - 묶는 기준 : 앞 묶음을 저장하는 동안 쌓인 요청 + 첫 요청 후 window-micros 동안 들어온 요청, 최대 max-batch 건
+// - 응답은 커밋이 끝난 뒤에 나가므로, 응답을 받은 게시글은 저장이 끝난 게시글이다.
+// - 묶음 저장이 실패하면 요청마다 따로 저장해 문제 있는 요청만 실패시킨다.
+// - 요청이 timeout-ms 안에 결과를 받지 못하면 저장 전인 경우 취소하고 실패로 응답한다. 이미 저장 중인
+//   요청은 취소할 수 없으므로 저장 결과를 기다려 그대로 응답한다(실패 응답인데 게시글이 저장되는 일이 없도록).
+// 비활성(기본)이면 ArticleService.create()를 그대로 호출한다.
+@Slf4j
+@Service
+public class ArticleGroupCommitService {
+
+    @Autowired
+    private ArticleService articleService;
+
+    // 전용 스레드가 큐를 확인하는 간격, 종료(stop()) 시 이 간격 안에 running 플래그를 보고 멈춘다.
+    private static final long POLL_MILLIS = 100;
+
+    @Value("${ddit.group-commit.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ddit.group-commit.max-batch:256}")
+    private int maxBatch;
+
+    @Value("${ddit.group-commit.window-micros:500}")
+    private long windowMicros;
+
+    @Value("${ddit.group-commit.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    @Value("${ddit.group-commit.max-queue:10000}")
+    private int maxQueue;
+
+    private BlockingQueue<Pending> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    // 등록 대기 중인 요청 하나
+    // claimed : 전용 스레드가 저장하기로 가져갔거나(commit) 요청 스레드가 기다림을 포기한(시간 초과) 요청,
+    // 먼저 가져간 쪽만 처리한다.
+    private record Pending(ArticleForm form, CompletableFuture<Article> result, AtomicBoolean claimed) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new LinkedBlockingQueue<>(maxQueue);
+        running = true;
+        worker = new Thread(this::run, "group-commit");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("# group commit enabled, max-batch : {}, window : {}us", maxBatch, windowMicros);
+    }
+
+    // 종료 시 큐에 남은 요청까지 저장한 뒤 멈춘다.
+    // JDBC 작업 중인 스레드를 중단(interrupt)시키지 않도록 running 플래그만 끄고, 전용 스레드가 큐 확인 간격 안에
+    // 스스로 멈추기를 기다린다.
+    @PreDestroy
+    void stop() throws InterruptedException {
+        if (worker == null) {
+            return;
+        }
+        running = false;
+        worker.join(timeoutMillis + POLL_MILLIS);
+        // 종료 직전에 큐에 들어온 요청은 여기서 저장한다.
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            commit(remaining);
+        }
+    }
+
+    // 게시글 등록, 잘못된 요청이면 null을 반환한다. (ArticleService.create()와 같음)
+    public Article create(ArticleForm dto) {
+        if (!enabled) {
+            return articleService.create(dto);
+        }
+        if (articleService.validateCreate(dto) != null) {
+            return null;
+        }
+        Pending pending = new Pending(dto, new CompletableFuture<>(), new AtomicBoolean());
+        // 큐가 가득 찼으면 기다리지 않고 바로 저장한다.
+        if (!running || !queue.offer(pending)) {
+            return articleService.create(dto);
+        }
+        try {
+            return pending.result().get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (pending.claimed().compareAndSet(false, true)) {
+                pending.result().cancel(false);
+                throw new IllegalStateException("group commit did not complete within " + timeoutMillis + "ms", e);
+            }
+            // 이미 저장 중이므로 결과를 기다린다.
+            return awaitClaimed(pending);
+        }
+    }
+
+    private Article awaitClaimed(Pending pending) {
+        try {
+            return pending.result().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for group commit", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 종료는 running 플래그로 하고 중단은 쓰지 않는다. 이미 모은 요청은 아래에서 마저 저장한다.
+                log.warn("# group commit worker interrupted, continuing until stop()");
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 요청이 올 때까지(최대 POLL_MILLIS) 기다린 뒤, 이미 쌓인 요청을 꺼내고 window 동안 더 기다려
+    // 최대 max-batch 건을 모은다.
+    private void collect(List<Pending> batch) throws InterruptedException {
+        Pending first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        queue.drainTo(batch, maxBatch - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(windowMicros);
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, maxBatch - batch.size());
+        }
+    }
+
+    // 요청 스레드가 이미 포기한(시간 초과로 취소된) 요청은 빼고 저장한다.
+    private void commit(List<Pending> pendings) {
+        List<Pending> batch = new ArrayList<>(pendings.size());
+        for (Pending pending : pendings) {
+            if (!pending.result().isDone() && pending.claimed().compareAndSet(false, true)) {
+                batch.add(pending);
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<ArticleForm> forms = new ArrayList<>(batch.size());
+        batch.forEach(pending -> forms.add(pending.form()));
+        try {
+            List<Article> created = articleService.createAll(forms);
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(created.get(i));
+            }
+            log.debug("# group commit : {} articles", batch.size());
+        } catch (RuntimeException e) {
+            // 묶음 전체가 롤백되었으므로 요청마다 따로 저장한다.
+            log.warn("# group commit of {} articles failed, retrying one by one : {}", batch.size(), e.getMessage());
+            for (Pending pending : batch) {
+                try {
+                    pending.result().complete(articleService.createAll(List.of(pending.form())).get(0));
+                } catch (RuntimeException single) {
+                    pending.result().completeExceptionally(single);
+                }
+            }
+        }
+    }
+}
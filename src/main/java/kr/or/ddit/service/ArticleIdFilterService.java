@@ -0,0 +1,114 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// 게시글 id 필터 서비스
+// 없는 id로 들어오는 상세조회/수정/삭제 요청(크롤러, 잘못된 링크)마다 findById()로 db를 조회하지 않도록,
+// 존재하는 게시글 id를 블룸 필터(IdBloomFilter)에 올려 두고 "확실히 없는" id는 바로 걸러낸다.
+// - 서버 기동 시점에 db의 id로 만들고, 등록(create, createAll) 시 새 id를 바로 추가한다.
+// - 삭제는 필터에서 뺄 수 없으므로 rebuild-interval-ms 마다 db 기준으로 다시 만든다.
+//   (그 사이 삭제된 id는 "있을 수도 있음"으로 판단되어 기존처럼 db를 조회할 뿐, 결과는 틀리지 않는다)
+// - 대량 등록(가져오기 등)으로 마지막 rebuild 이후 등록 수가 필터에 여유로 잡아 둔 건수를 넘으면
+//   주기를 기다리지 않고 다시 만든다. (거짓 양성 확률 유지, 등록 id 기록(recent)이 계속 커지지 않도록)
+// - 애플리케이션을 거치지 않고 db에 직접 추가된 게시글은 다음 rebuild 전까지 없는 것으로 판단된다.
+// 필터가 아직 만들어지지 않았으면 모든 id를 "있을 수도 있음"으로 판단한다.
+@Slf4j
+@Service
+public class ArticleIdFilterService {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${ddit.id-filter.enabled:true}")
+    private boolean enabled;
+
+    // 거짓 양성 확률 (없는 id를 있을 수도 있다고 판단해 db를 조회하게 되는 비율)
+    @Value("${ddit.id-filter.fpp:0.01}")
+    private double fpp;
+
+    private volatile IdBloomFilter filter;
+
+    // rebuild 중에 만들고 있는 필터, 그 사이 등록된 id도 함께 넣는다.
+    private volatile IdBloomFilter building;
+
+    // 마지막 rebuild 이후 등록된 id, rebuild 시작 직전에 등록되어 아직 커밋되지 않은 게시글이
+    // 새 필터에서 빠지지 않도록 다음 rebuild 때 한 번 더 넣어 준다.
+    private volatile Set<Long> recent = ConcurrentHashMap.newKeySet();
+
+    // 마지막 rebuild 때 필터 크기를 게시글 수보다 여유 있게 잡은 건수, 등록이 이만큼 쌓이면 다시 만든다.
+    private volatile long headroom = Long.MAX_VALUE;
+
+    public boolean mightContain(Long id) {
+        IdBloomFilter current = filter;
+        return id == null || current == null || current.mightContain(id);
+    }
+
+    // recent에 넣은 뒤에 building, filter 순으로 다시 읽어 둘 다 넣는다.
+    // rebuild는 building을 정하고 recent를 넘긴 다음, filter를 바꾸고 나서 building을 비우므로
+    // 도중에 rebuild가 끝나도 새 필터에 들어가고, rebuild 전이면 recent로 다음 필터에 들어간다.
+    public void onCreate(Long id) {
+        if (!enabled) {
+            return;
+        }
+        recent.add(id);
+        IdBloomFilter next = building;
+        if (next != null) {
+            next.put(id);
+        }
+        IdBloomFilter current = filter;
+        if (current != null) {
+            current.put(id);
+        }
+    }
+
+    // 마지막 rebuild 이후 등록 수가 여유분을 넘었으면 바로 다시 만든다.
+    @Scheduled(fixedDelayString = "${ddit.id-filter.check-interval-ms:1000}")
+    @Transactional(readOnly = true)
+    public void rebuildIfFull() {
+        if (enabled && recent.size() > headroom) {
+            log.info("# id filter created since last rebuild : {}, headroom : {}", recent.size(), headroom);
+            rebuild();
+        }
+    }
+
+    // 서버 기동 완료 시점(data.sql 적용 이후)과 이후 주기적으로 db의 id로 필터를 다시 만든다.
+    // 다시 만들 때마다 현재 게시글 수에 맞춰 크기를 정하므로 등록이 많아져도 거짓 양성 확률이 유지된다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${ddit.id-filter.rebuild-interval-ms:600000}",
+            fixedDelayString = "${ddit.id-filter.rebuild-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long count = articleRepository.count();
+        // 다음 rebuild 전까지 늘어날 게시글을 감안해 여유 있게 잡는다.
+        long expected = Math.max(1024, count * 2);
+        IdBloomFilter next = new IdBloomFilter(expected, fpp);
+        building = next;
+        Set<Long> carried = recent;
+        recent = ConcurrentHashMap.newKeySet();
+        try (Stream<Long> ids = articleRepository.streamIds()) {
+            ids.forEach(next::put);
+        }
+        carried.forEach(next::put);
+        filter = next;
+        building = null;
+        headroom = expected - count;
+        log.info("# id filter rebuild() articles : {}, bits : {}, {}ms", count, next.bitCount(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
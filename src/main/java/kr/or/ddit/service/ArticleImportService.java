@@ -0,0 +1,197 @@
+package kr.or.ddit.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.dto.ArticleImportReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+// 게시글 일괄 등록(import) 서비스
+// 업로드된 CSV 또는 NDJSON 본문을 처음부터 끝까지 한 번에 메모리에 올리지 않고 한 행씩 읽으면서(stream),
+// batchSize 건이 모일 때마다 ArticleService.createAll()로 한 트랜잭션에 저장한다.
+// - 검증은 ArticleService.validateCreate()와 같은 규칙을 사용한다.
+// - 잘못된 행은 건너뛰고 error 보고를, 배치가 커밋될 때마다 progress 보고를 reporter로 전달한다.
+// - 배치 저장이 db 오류로 실패하면 그 배치만 한 행씩 다시 저장해서 실패한 행을 찾아낸다.
+@Slf4j
+@Service
+public class ArticleImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${ddit.import.batch-size:5000}")
+    private int batchSize;
+
+    // CSV 레코드, NDJSON 줄 하나의 최대 글자 수
+    @Value("${ddit.import.max-record-chars:1048576}")
+    private int maxRecordChars;
+
+    public ArticleImportReport importArticles(Format format, InputStream body, Consumer<ArticleImportReport> reporter)
+            throws IOException {
+        Batch batch = new Batch(reporter);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == Format.CSV) {
+            readCsv(reader, batch);
+        } else {
+            readNdjson(reader, batch);
+        }
+        batch.flush();
+
+        ArticleImportReport done = ArticleImportReport.done(batch.rows, batch.imported, batch.failed, batch.elapsedMillis());
+        log.info("# import done {} : {}", format, done);
+        reporter.accept(done);
+        return done;
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader, maxRecordChars);
+        // 컬럼 순서, 첫 줄이 헤더(id, title, content 중 일부)이면 헤더를 따른다.
+        int idColumn = -1;
+        int titleColumn = 0;
+        int contentColumn = 1;
+        boolean first = true;
+
+        CsvRecordReader.Record record;
+        while ((record = csv.next()) != null) {
+            List<String> fields = record.fields();
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;   // 빈 줄
+            }
+            if (first) {
+                first = false;
+                List<String> names = fields.stream().map(name -> name.trim().toLowerCase(Locale.ROOT)).toList();
+                if (names.contains("title") || names.contains("content")) {
+                    idColumn = names.indexOf("id");
+                    titleColumn = names.indexOf("title");
+                    contentColumn = names.indexOf("content");
+                    continue;
+                }
+            }
+            if (record.error() != null) {
+                batch.reject(record.line(), record.error());
+                continue;
+            }
+            // id 컬럼이 있으면 그대로 담아 두고, 등록 가능 여부는 validateCreate()가 판단한다.
+            Long id = null;
+            String idText = column(fields, idColumn);
+            if (idText != null && !idText.isBlank()) {
+                try {
+                    id = Long.valueOf(idText.trim());
+                } catch (NumberFormatException e) {
+                    batch.reject(record.line(), "invalid id : " + idText);
+                    continue;
+                }
+            }
+            batch.add(record.line(), new ArticleForm(id, column(fields, titleColumn), column(fields, contentColumn)));
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        LineRecordReader lines = new LineRecordReader(reader, maxRecordChars);
+        LineRecordReader.Line line;
+        while ((line = lines.next()) != null) {
+            if (line.error() != null) {
+                batch.reject(line.number(), line.error());
+                continue;
+            }
+            if (line.text().isBlank()) {
+                continue;
+            }
+            ArticleForm dto;
+            try {
+                dto = objectMapper.readValue(line.text(), ArticleForm.class);
+            } catch (JsonProcessingException e) {
+                batch.reject(line.number(), "invalid json : " + e.getOriginalMessage());
+                continue;
+            }
+            batch.add(line.number(), dto);
+        }
+    }
+
+    private static String column(List<String> fields, int index) {
+        return (index >= 0 && index < fields.size()) ? fields.get(index) : null;
+    }
+
+    // 저장 대기 중인 행과 누적 건수
+    private final class Batch {
+        private final Consumer<ArticleImportReport> reporter;
+        private final long start = System.nanoTime();
+        private final List<ArticleForm> dtos = new ArrayList<>(batchSize);
+        private final List<Long> lines = new ArrayList<>(batchSize);
+        private long rows;
+        private long imported;
+        private long failed;
+
+        Batch(Consumer<ArticleImportReport> reporter) {
+            this.reporter = reporter;
+        }
+
+        void add(long line, ArticleForm dto) {
+            rows++;
+            String error = articleService.validateCreate(dto);
+            if (error != null) {
+                failed++;
+                reporter.accept(ArticleImportReport.error(line, error));
+                return;
+            }
+            dtos.add(dto);
+            lines.add(line);
+            if (dtos.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rows++;
+            failed++;
+            reporter.accept(ArticleImportReport.error(line, message));
+        }
+
+        void flush() {
+            if (dtos.isEmpty()) {
+                return;
+            }
+            try {
+                imported += articleService.createAll(dtos).size();
+            } catch (DataAccessException e) {
+                // 배치 중 어느 행이 문제인지 알 수 없으므로 한 행씩 다시 저장한다.
+                log.info("# import batch failed, retrying row by row : {}", e.getMostSpecificCause().getMessage());
+                for (int i = 0; i < dtos.size(); i++) {
+                    try {
+                        imported += articleService.createAll(List.of(dtos.get(i))).size();
+                    } catch (DataAccessException rowError) {
+                        failed++;
+                        reporter.accept(ArticleImportReport.error(lines.get(i),
+                                rowError.getMostSpecificCause().getMessage()));
+                    }
+                }
+            }
+            dtos.clear();
+            lines.clear();
+            reporter.accept(ArticleImportReport.progress(rows, imported, failed, elapsedMillis()));
+        }
+
+        long elapsedMillis() {
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+}
@@ -1,14 +1,35 @@
 package kr.or.ddit.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import kr.or.ddit.dto.ArticleDelta;
 import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.dto.ArticleLookup;
 import kr.or.ddit.entity.Article;
+import kr.or.ddit.jpa.TimeOrderedIdGenerator;
+import kr.or.ddit.jpa.TimeOrderedIds;
 import kr.or.ddit.repository.ArticleRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 // 서비스
 // 컨트롤러와 Repository 사이에서 서버의 핵심 기능(비즈니스 로직)을 처리하는 순서를 총괄한다.
@@ -34,17 +55,127 @@ public class ArticleService {
     @Autowired
     private ArticleRepository articleRepository;
 
+    // 등록/수정/삭제 시 통계 카운터를 함께 갱신한다.
+    @Autowired
+    private ArticleStatsService articleStatsService;
+
+    // 등록/수정/삭제 시 제목 자동완성 색인도 함께 갱신한다.
+    @Autowired
+    private ArticleSuggestService articleSuggestService;
+
+    // 목록 조회는 메모리의 스냅샷에서 읽고, 등록/수정/삭제 시 스냅샷을 교체한다.
+    @Autowired
+    private ArticleSnapshotService articleSnapshotService;
+
+    // 일괄 등록은 Hibernate를 거치지 않으므로 쿼리 캐시를 직접 비운다.
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    // 상세조회 시 조회수를 메모리 카운터에 기록하고, 삭제 시 조회수도 함께 지운다.
+    @Autowired
+    private ArticleViewService articleViewService;
+
+    // 확실히 없는 id는 db를 조회하지 않고 바로 null을 반환한다.
+    @Autowired
+    private ArticleIdFilterService articleIdFilterService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // 일괄 등록(createAll)용
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${spring.jpa.properties.ddit.id.strategy:identity}")
+    private String idStrategy;
+
+    @Value("${spring.jpa.properties.ddit.id.node-id:0}")
+    private long idNodeId;
+
+    // 여러 건 조회(showAll) 시 IN 조회 한 번에 넣을 id 수, 요청 하나에 허용할 최대 id 수
+    @Value("${ddit.multi-get.chunk-size:500}")
+    private int multiGetChunkSize;
+
+    @Value("${ddit.multi-get.max-ids:1000}")
+    private int multiGetMaxIds;
+
     public List<Article> index() {
         log.info("# service index()...!");
         // 메서드 수행 결과로 Article 묶음(리스트)을 반환하므로 반환형이 List<Article>이다.
+        // 스냅샷이 만들어져 있으면 db를 조회하지 않고 스냅샷(id 순, 수정 불가)을 그대로 반환한다.
+        List<Article> snapshot = articleSnapshotService.list();
+        if (snapshot != null) {
+            return snapshot;
+        }
         return articleRepository.findAll(); // db에 저장된 모든 Article을 가져와 반환한다.
     }
 
+    // 전체 게시글을 chunkSize 건씩 나눠 consumer에 전달한다. (스냅샷이 없을 때의 목록 스트리밍 렌더링용)
+    // 전달이 끝난 게시글은 영속성 컨텍스트에서 분리(detach)해 메모리에 쌓이지 않도록 한다.
+    @Transactional(readOnly = true)
+    public void forEachChunk(int chunkSize, Consumer<List<Article>> consumer) {
+        log.info("# service forEachChunk()...!");
+        try (Stream<Article> articles = articleRepository.streamAll()) {
+            List<Article> chunk = new ArrayList<>(chunkSize);
+            Iterator<Article> iterator = articles.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    consumer.accept(chunk);
+                    chunk.forEach(entityManager::detach);
+                    chunk.clear();
+                }
+            }
+        }
+    }
+
     public Article show(Long id) {
         log.info("# service show()...!");
         // Repository가 db에서 id로 조회한 결과를 반환하도록 return 문을 작성합니다.
         // 조회 결과 데이터가 없으면 null을 반환합니다.
-        return articleRepository.findById(id).orElse(null);
+        if (!articleIdFilterService.mightContain(id)) {
+            return null;
+        }
+        Article article = articleRepository.findById(id).orElse(null);
+        if (article != null) {
+            articleViewService.record(id);
+        }
+        return article;
+    }
+
+    // 여러 건 조회, id마다 findById()를 호출하지 않고 chunk-size 건씩 IN 조회로 가져온다.
+    // 결과는 요청한 id 순서 그대로이고(중복 포함), 없는 id는 missing으로 표시한다.
+    @Transactional(readOnly = true)
+    public List<ArticleLookup> showAll(List<Long> ids) {
+        log.info("# service showAll()...! ids : {}", ids.size());
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        // 확실히 없는 id는 IN 조회에서 뺀다.
+        distinct.removeIf(id -> !articleIdFilterService.mightContain(id));
+        Map<Long, Article> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += multiGetChunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + multiGetChunkSize, distinct.size()));
+            articleRepository.findAllById(chunk).forEach(article -> found.put(article.getId(), article));
+        }
+        List<ArticleLookup> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Article article = found.get(id);
+            result.add(article != null ? ArticleLookup.found(article) : ArticleLookup.missing(id));
+        }
+        return result;
+    }
+
+    // 여러 건 조회 요청 검증, 문제가 없으면 null, 있으면 오류 메시지를 반환한다.
+    public String validateShowAll(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return "ids must not be empty";
+        }
+        if (ids.size() > multiGetMaxIds) {
+            return "too many ids (max " + multiGetMaxIds + ")";
+        }
+        if (ids.contains(null)) {
+            return "ids must not contain empty values";
+        }
+        return null;
     }
 
     public Article create(ArticleForm dto) {
@@ -57,32 +188,102 @@ public class ArticleService {
         
         // # 등록인데 수정과 같은 오류가 발생할 때
         // 등록인데 수정과 같이 id값이 파라미터로 전달된 경우, null을 반환한다.
-        if(article.getId() != null){
+        if(validateCreate(dto) != null){
             return  null;
         }
         // article을 db에 저장
-        return articleRepository.save(article);
+        Article created = articleRepository.save(article);
+        articleIdFilterService.onCreate(created.getId());
+        articleStatsService.onCreate(created);
+        articleSuggestService.onCreate(created);
+        articleSnapshotService.onCreate(created);
+        return created;
     }
 
+    // 등록 요청 검증, 문제가 없으면 null, 있으면 오류 메시지를 반환한다.
+    // create()와 일괄 등록(ArticleImportService)이 같은 규칙을 사용한다.
+    public String validateCreate(ArticleForm dto) {
+        if(dto.getId() != null){
+            return "id must be empty when creating an article";
+        }
+        return null;
+    }
+
+    // 일괄 등록, validateCreate()를 통과한 dto 목록을 JDBC 배치 insert 한 번으로 저장한다.
+    // 엔티티를 하나씩 save() 하면 행마다 영속성 컨텍스트 관리와 id 조회가 일어나므로,
+    // 대량 등록에서는 JdbcTemplate으로 바로 insert 하고 생성된 id만 돌려받는다.
+    // - identity 방식 : db가 만든 id를 getGeneratedKeys로 받아 온다.
+    // - time-ordered 방식 : insert 전에 TimeOrderedIds로 id를 발급해 함께 insert 한다.
+    @Transactional
+    public List<Article> createAll(List<ArticleForm> dtos) {
+        List<Article> created = new ArrayList<>(dtos.size());
+        if (TimeOrderedIdGenerator.TIME_ORDERED.equals(idStrategy)) {
+            TimeOrderedIds ids = TimeOrderedIds.forNode(idNodeId);
+            for (ArticleForm dto : dtos) {
+                created.add(new Article(ids.nextId(), dto.getTitle(), dto.getContent()));
+            }
+            jdbcTemplate.batchUpdate("insert into article(id, title, content) values (?, ?, ?)", created, created.size(),
+                    (ps, article) -> {
+                        ps.setLong(1, article.getId());
+                        ps.setString(2, article.getTitle());
+                        ps.setString(3, article.getContent());
+                    });
+        } else {
+            GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    con -> con.prepareStatement("insert into article(title, content) values (?, ?)", new String[]{"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setString(1, dtos.get(i).getTitle());
+                            ps.setString(2, dtos.get(i).getContent());
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return dtos.size();
+                        }
+                    },
+                    keyHolder);
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < dtos.size(); i++) {
+                Number id = (Number) keys.get(i).values().iterator().next();
+                created.add(new Article(id.longValue(), dtos.get(i).getTitle(), dtos.get(i).getContent()));
+            }
+        }
+        articleCacheService.evictQueryResults();
+        created.forEach(article -> articleIdFilterService.onCreate(article.getId()));
+        created.forEach(articleStatsService::onCreate);
+        created.forEach(articleSuggestService::onCreate);
+        articleSnapshotService.onCreateAll(created);
+        return created;
+    }
+
+    // 조회와 저장을 하나의 트랜잭션으로 묶는다.
+    // 트랜잭션이 없으면 findById()로 가져온 엔티티가 save() 시점에는 준영속 상태가 되어,
+    // save()(merge)가 같은 행을 한 번 더 SELECT 한다.
+    @Transactional
     public Article update(Long id, ArticleForm dto) {
         // 1. dto -> 엔티티 변환하기(수정용 엔티티 생성)
         // 클라이언트에서 받은 수정 데이터가 담긴 dto를 db에서 활용할 수 있도록 엔티티로 변환해
         // article 변수에 저장한다.
         Article article = dto.toEntity();
         // 중간에 실행이 잘 되는지 확인하기 위해서 id와 article의 내용을 로그로 출력합니다.
-        log.info("id : {}, artilce : {}",id,article.toString());
+        log.debug("id : {}, artilce : {}",id,article);
 
         // 2. 타깃 조회하기 (db에 대상 엔티티가 있는지 조회)
         // db에서 대상 엔티티를 조회해 가져온다.
         // .findById(id) 메소드를 통해서 id에 해당하는 엔티티를 가져오되 없다면 null을 반환한다.
-        Article target = articleRepository.findById(id).orElse(null);
+        // 확실히 없는 id이면 조회하지 않는다.
+        Article target = articleIdFilterService.mightContain(id) ? articleRepository.findById(id).orElse(null) : null;
         
         // 3. 잘못된 요청 처리하기(대상 엔티티가 없거나 수정하려는 id가 잘못 됐을 경우 처리)
         // - 요청 경로로 들어온 id와 일치하는 Article 정보가 없는 경우도 에러이므로 null 체킹
         // - 요청 경로로 들어온 id와 수정 데이터로 넘어온 id로 얻어온 Article 정보의 id가 불일치 하는
         //   경우, 수정하고자 하는 데이터의 정보가 다르므로 에러
-        if(target ==null || id != article.getId()){
-            log.info("update-> 잘못된 요청 id : {}, article : {}",id,article.toString());
+        // - Long은 객체이므로 '!='가 아닌 equals()로 비교한다. ('!='는 -128~127 범위의 값만 같은 객체로 캐싱됨)
+        if(target ==null || !id.equals(article.getId())){
+            log.info("update-> 잘못된 요청 id : {}, article : {}",id,article);
             // ResponseEntity 반환
             // ResponseEntity의 상태(Status)에는 400 또는 HttpStatus.BAD_REQUEST를 설정하고
             // 본문(body)에는 반환할 데이터가 없으므로 null을 실어 반환한다.
@@ -93,6 +294,9 @@ public class ArticleService {
         //Article updated = articleRepository.save(article);
 
         // 수정을 하기위해서 넘긴 수정 데이터안에는 제목 or 내용 or 제목,내용이 들어있다.
+        // 통계에 내용 길이의 차이를, 자동완성 색인에 제목 변경을 반영하기 위해 patch 전의 값을 기억해 둔다.
+        int beforeContentLength = ArticleStatsService.lengthOf(target.getContent());
+        String beforeTitle = target.getTitle();
         target.patch(article);
         // 대상 엔티티가 있으면 수정 내용으로 업데이트하고 정상 응답(200)을 보낸다.
         // article 엔티티에 담긴 수정용 데이터를 db에 저장 후 updated라는 이름의 변수에 저장한다.
@@ -115,15 +319,100 @@ public class ArticleService {
         // 단일 데이터 수정이 가능합니다.
 
         // 기존 데이터에서 새롭게 수정된 데이터를 합쳐 놓은게 target 이므로
+        return saveUpdated(target, beforeTitle, beforeContentLength);
+    }
+
+    // JSON Merge Patch(RFC 7386, application/merge-patch+json) 수정
+    // 본문에 있는 필드만 바꾸고(null이면 값을 비움), 본문에 없는 필드는 그대로 둔다.
+    // 잘못된 요청이면 null을 반환한다.
+    @Transactional
+    public Article mergePatch(Long id, JsonNode patch) {
+        String error = validateMergePatch(id, patch);
+        Article target = error == null && articleIdFilterService.mightContain(id)
+                ? articleRepository.findById(id).orElse(null) : null;
+        if(target == null){
+            log.info("mergePatch-> 잘못된 요청 id : {}, {}", id, error != null ? error : "not found");
+            return null;
+        }
+        int beforeContentLength = ArticleStatsService.lengthOf(target.getContent());
+        String beforeTitle = target.getTitle();
+        if (patch.has("title")) {
+            target.changeTitle(patch.get("title").isNull() ? null : patch.get("title").asText());
+        }
+        if (patch.has("content")) {
+            target.changeContent(patch.get("content").isNull() ? null : patch.get("content").asText());
+        }
+        return saveUpdated(target, beforeTitle, beforeContentLength);
+    }
+
+    // Merge Patch 본문 검증, 문제가 없으면 null, 있으면 오류 메시지를 반환한다.
+    // - JSON 객체여야 하고 id, title, content 외의 필드는 받지 않는다.
+    // - title, content는 문자열 또는 null, id는 있으면 요청 경로의 id와 같아야 한다.
+    public String validateMergePatch(Long id, JsonNode patch) {
+        if (patch == null || !patch.isObject()) {
+            return "merge patch must be a JSON object";
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "id" -> {
+                    if (!value.isNull() && !(value.canConvertToLong() && id.equals(value.asLong()))) {
+                        return "id does not match the request path";
+                    }
+                }
+                case "title", "content" -> {
+                    if (!value.isNull() && !value.isTextual()) {
+                        return field.getKey() + " must be a string or null";
+                    }
+                }
+                default -> {
+                    return "unknown field " + field.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    // 부분 수정(text-delta), 내용 전체 대신 바뀐 구간의 편집 연산만 받아 기존 내용에 적용한다.
+    // 요청 크기는 내용 길이가 아닌 편집 크기에 비례한다. 잘못된 요청이면 null을 반환한다.
+    @Transactional
+    public Article applyDelta(Long id, ArticleDelta delta) {
+        Article target = articleIdFilterService.mightContain(id) ? articleRepository.findById(id).orElse(null) : null;
+        String error = target != null ? delta.validate(target.getContent()) : "not found";
+        if(error != null){
+            log.info("applyDelta-> 잘못된 요청 id : {}, {}", id, error);
+            return null;
+        }
+        int beforeContentLength = ArticleStatsService.lengthOf(target.getContent());
+        String beforeTitle = target.getTitle();
+        if (delta.getTitle() != null) {
+            target.changeTitle(delta.getTitle());
+        }
+        if (delta.getOps() != null && !delta.getOps().isEmpty()) {
+            target.changeContent(delta.applyTo(target.getContent()));
+        }
+        return saveUpdated(target, beforeTitle, beforeContentLength);
+    }
+
+    // 수정된 엔티티 저장 후 통계, 자동완성 색인, 목록 스냅샷에 반영한다.
+    private Article saveUpdated(Article target, String beforeTitle, int beforeContentLength) {
         Article updated = articleRepository.save(target);
+        articleStatsService.onUpdate(beforeContentLength, updated);
+        articleSuggestService.onUpdate(beforeTitle, updated);
+        articleSnapshotService.onUpdate(updated);
         return updated;
     }
 
 
+    // update()와 같은 이유로, delete()도 조회와 삭제를 하나의 트랜잭션으로 묶는다.
+    @Transactional
     public Article delete(Long id) {
         // 1. 대상 찾기 (db에서 대상 엔티티가 있는지 조회)
         // db에 삭제할 대상 엔티티가 있는지 조회하고 없으면 null을 반홚나다.
-        Article target = articleRepository.findById(id).orElse(null);
+        // 확실히 없는 id이면 조회하지 않는다.
+        Article target = articleIdFilterService.mightContain(id) ? articleRepository.findById(id).orElse(null) : null;
 
         // 2. 잘못된 요청 처리하기(대상 엔티티가 없어서 요청 자체가 잘못됐을 경우 처리)
         // 응답은 컨트롤러가 하므로 여기서는 null을 반환
@@ -131,7 +420,14 @@ public class ArticleService {
             return null;
         }
         // 3. 대상 삭제하기
+        // 커밋까지 미루지 않고 바로 delete 문을 실행해 article 행부터 잠근다. 조회수 삭제(article_view)는 그 뒤에 한다.
+        // (조회수 반영(ArticleViewService.flush())과 잠그는 순서를 article -> article_view로 맞춰 교착 상태를 막는다)
         articleRepository.delete(target);
+        entityManager.flush();
+        articleStatsService.onDelete(target);
+        articleSuggestService.onDelete(target);
+        articleSnapshotService.onDelete(target);
+        articleViewService.onDelete(id);
         return target;
     }
 }
@@ -0,0 +1,291 @@
+package kr.or.ddit.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import kr.or.ddit.dto.ArticleSnapshotCheck;
+import kr.or.ddit.entity.Article;
+import kr.or.ddit.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// 게시글 목록 스냅샷 서비스
+// 목록 조회는 많고 등록/수정/삭제는 드물기 때문에, 전체 목록을 메모리에 id 순 배열로 만들어 두고
+// 목록 조회(ArticleService.index(), 목록 화면)는 db 대신 이 배열을 그대로 읽는다.
+// - 읽기 : volatile 참조 하나만 읽으므로 락도, SQL도 없다.
+// - 쓰기 : ArticleService가 등록/수정/삭제를 반영하면, 트랜잭션 커밋 후에 배열을 복사해 바꾼 새 스냅샷으로
+//   참조를 교체한다(copy-on-write). 기존 스냅샷을 읽고 있던 요청은 끝까지 같은 목록을 본다.
+//   커밋 후 반영(afterCommit)은 커밋 순서대로 실행된다는 보장이 없으므로, 등록/수정은 커밋 전의 엔티티 대신
+//   반영하는 시점(한 번에 하나씩)에 db에서 해당 행을 다시 읽어 반영한다. 같은 게시글을 동시에 수정해도
+//   마지막에 반영하는 쪽이 가장 최근에 커밋된 내용을 읽으므로 이전 내용으로 되돌아가지 않는다.
+//   삭제된 id는 다시 쓰이지 않으므로 삭제는 다시 읽지 않고 바로 반영한다.
+// - 서버 기동 시점에 db에서 다시 만들고(rebuild), check()로 db와 비교해 불일치를 확인할 수 있다.
+// 스냅샷의 Article은 엔티티가 아닌 복사본이며 읽기 전용으로 사용한다.
+@Slf4j
+@Service
+public class ArticleSnapshotService {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // false이면 스냅샷을 만들지 않고 목록 조회는 기존처럼 db에서 읽는다.
+    @Value("${ddit.articles.snapshot.enabled:true}")
+    private boolean enabled;
+
+    private static final Comparator<Article> BY_ID = Comparator.comparing(Article::getId);
+
+    // 반영 시점에 다시 읽을 때 IN 조회 한 번에 넣을 id 수
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    // 불변 스냅샷, 배열은 만든 뒤에 절대 수정하지 않는다.
+    private static final class Snapshot {
+        final Article[] articles;
+        final List<Article> list;
+
+        Snapshot(Article[] articles) {
+            this.articles = articles;
+            this.list = Collections.unmodifiableList(Arrays.asList(articles));
+        }
+    }
+
+    // 아직 만들어지지 않았으면 null
+    private volatile Snapshot snapshot;
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    // id 순 전체 목록 (수정 불가), 스냅샷이 없으면 null
+    public List<Article> list() {
+        Snapshot current = snapshot;
+        return current != null ? current.list : null;
+    }
+
+    // id로 게시글 찾기 (SQL 없이 스냅샷에서 이진 탐색), 없거나 스냅샷이 없으면 null
+    public Article get(Long id) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return null;
+        }
+        int index = indexOf(current.articles, id);
+        return index >= 0 ? current.articles[index] : null;
+    }
+
+    // 서버 기동 완료 시점(data.sql 적용 이후)에 db 전체 목록으로 스냅샷을 만든다.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        snapshot = new Snapshot(loadAll().toArray(new Article[0]));
+        log.info("# snapshot rebuild() articles : {}, {}ms", snapshot.articles.length,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // db 목록과 스냅샷을 id 순으로 나란히 비교한다. repair가 true이고 불일치가 있으면 db 기준으로 다시 만든다.
+    // 점검 중에 커밋된 변경은 아직 스냅샷에 반영되기 전일 수 있으므로 불일치로 보일 수 있다.
+    @Transactional(readOnly = true)
+    public synchronized ArticleSnapshotCheck check(boolean repair) {
+        Article[] current = snapshot != null ? snapshot.articles : new Article[0];
+        List<Article> database = loadAll();
+        long missing = 0;
+        long extra = 0;
+        long changed = 0;
+        int i = 0;
+        int j = 0;
+        while (i < current.length || j < database.size()) {
+            int order = i == current.length ? 1
+                    : j == database.size() ? -1
+                    : current[i].getId().compareTo(database.get(j).getId());
+            if (order < 0) {
+                extra++;
+                i++;
+            } else if (order > 0) {
+                missing++;
+                j++;
+            } else {
+                if (!sameContent(current[i], database.get(j))) {
+                    changed++;
+                }
+                i++;
+                j++;
+            }
+        }
+        boolean consistent = missing == 0 && extra == 0 && changed == 0;
+        boolean repaired = false;
+        if (!consistent) {
+            log.warn("# snapshot check() missing : {}, extra : {}, changed : {}", missing, extra, changed);
+            if (repair && enabled) {
+                snapshot = new Snapshot(database.toArray(new Article[0]));
+                repaired = true;
+            }
+        }
+        return new ArticleSnapshotCheck(consistent, current.length, database.size(), missing, extra, changed, repaired);
+    }
+
+    public void onCreate(Article created) {
+        Long id = created.getId();
+        afterCommit(() -> refresh(List.of(id)));
+    }
+
+    // 일괄 등록은 행마다 배열을 복사하지 않도록 한 번에 반영한다.
+    public void onCreateAll(List<Article> created) {
+        List<Long> ids = created.stream().map(Article::getId).toList();
+        afterCommit(() -> refresh(ids));
+    }
+
+    public void onUpdate(Article updated) {
+        onCreate(updated);
+    }
+
+    public void onDelete(Article deleted) {
+        Long id = deleted.getId();
+        afterCommit(() -> apply(List.of(), Set.of(id)));
+    }
+
+    // ids의 현재 내용을 db에서 다시 읽어 반영한다. 있으면 추가 또는 교체, 없으면(그 사이 삭제됨) 제거한다.
+    // 커밋 후(afterCommit)에는 커밋된 트랜잭션의 영속성 컨텍스트와 커넥션이 아직 남아 있으므로, 영속성 컨텍스트를 비워
+    // 그 안의 엔티티 대신 db(또는 2차 캐시)의 커밋된 내용을 같은 커넥션으로 읽는다. (커넥션을 하나 더 잡지 않음)
+    private synchronized void refresh(List<Long> ids) {
+        if (snapshot == null) {
+            return;
+        }
+        entityManager.clear();
+        List<Article> upserts = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += REFRESH_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, ids.size()));
+            articleRepository.findAllById(chunk).forEach(article -> upserts.add(copyOf(article)));
+        }
+        entityManager.clear();
+        Set<Long> removed = new HashSet<>(ids);
+        upserts.forEach(article -> removed.remove(article.getId()));
+        apply(upserts, removed);
+    }
+
+    // upserts : 추가 또는 교체할 게시글(같은 id가 있으면 교체), deletedIds : 삭제할 게시글 id
+    // 같은 변경이 두 번 반영되어도(예: check() 복구 직후 늦게 도착한 반영) 결과는 같다.
+    private synchronized void apply(List<Article> upserts, Set<Long> deletedIds) {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Article[] articles = current.articles;
+        if (upserts.isEmpty() && deletedIds.size() == 1) {
+            int index = indexOf(articles, deletedIds.iterator().next());
+            if (index < 0) {
+                return;
+            }
+            Article[] next = new Article[articles.length - 1];
+            System.arraycopy(articles, 0, next, 0, index);
+            System.arraycopy(articles, index + 1, next, index, next.length - index);
+            snapshot = new Snapshot(next);
+            return;
+        }
+        if (upserts.size() == 1 && deletedIds.isEmpty()) {
+            Article article = upserts.get(0);
+            int index = indexOf(articles, article.getId());
+            Article[] next;
+            if (index >= 0) {
+                next = articles.clone();
+                next[index] = article;
+            } else {
+                int position = -index - 1;
+                next = new Article[articles.length + 1];
+                System.arraycopy(articles, 0, next, 0, position);
+                next[position] = article;
+                System.arraycopy(articles, position, next, position + 1, articles.length - position);
+            }
+            snapshot = new Snapshot(next);
+            return;
+        }
+        // 여러 건은 정렬 후 기존 배열과 병합한다.
+        List<Article> sorted = new ArrayList<>(upserts);
+        sorted.sort(BY_ID);
+        List<Article> merged = new ArrayList<>(articles.length + sorted.size());
+        int i = 0;
+        int j = 0;
+        while (i < articles.length || j < sorted.size()) {
+            int order = i == articles.length ? 1
+                    : j == sorted.size() ? -1
+                    : articles[i].getId().compareTo(sorted.get(j).getId());
+            if (order < 0) {
+                if (!deletedIds.contains(articles[i].getId())) {
+                    merged.add(articles[i]);
+                }
+                i++;
+            } else {
+                if (order == 0) {
+                    i++;
+                }
+                merged.add(sorted.get(j++));
+            }
+        }
+        snapshot = new Snapshot(merged.toArray(new Article[0]));
+    }
+
+    // 트랜잭션 안이면 커밋된 뒤에 반영한다(롤백되면 반영하지 않음). 트랜잭션 밖이면 바로 반영한다.
+    private void afterCommit(Runnable change) {
+        if (enabled) {
+            AfterCommit.run(change);
+        }
+    }
+
+    private List<Article> loadAll() {
+        List<Article> articles = new ArrayList<>();
+        try (Stream<Article> stream = articleRepository.streamAll()) {
+            Iterator<Article> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                Article article = iterator.next();
+                articles.add(copyOf(article));
+                entityManager.detach(article);
+            }
+        }
+        return articles;
+    }
+
+    private static int indexOf(Article[] articles, Long id) {
+        int low = 0;
+        int high = articles.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int order = articles[mid].getId().compareTo(id);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static boolean sameContent(Article a, Article b) {
+        return Objects.equals(a.getTitle(), b.getTitle()) && Objects.equals(a.getContent(), b.getContent());
+    }
+
+    // 영속 엔티티와 분리된 복사본
+    private static Article copyOf(Article article) {
+        return new Article(article.getId(), article.getTitle(), article.getContent());
+    }
+}
@@ -0,0 +1,142 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleStats;
+import kr.or.ddit.entity.Article;
+import kr.or.ddit.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 게시글 통계 서비스
+// 관리자 대시보드에서 사용할 전체 게시글 수, 평균 내용 길이, 생성 추이를 제공한다.
+// 페이지를 열 때마다 테이블 전체를 조회(count, sum)하지 않도록, ArticleService의 등록/수정/삭제 시점에
+// 카운터를 갱신(증분 방식, 트랜잭션 커밋 후)해 두고 조회 요청에는 메모리에 있는 값만 읽어서 응답한다.
+// - LongAdder : 여러 스레드가 동시에 더하기를 해도 내부적으로 셀을 나눠(striped) 경합이 적은 카운터
+// - 시간 버킷 : 1분 단위 버킷 60개를 고리(ring) 형태로 재사용해 최근 1시간의 생성 건수를 보관한다.
+// 전체 건수와 내용 길이는 서버 기동 시점에 한 번만 db와 맞춘다(reconcile).
+@Slf4j
+@Service
+public class ArticleStatsService {
+
+    // 버킷 하나가 담당하는 시간(1분)과 보관할 버킷 수(60개 = 1시간)
+    static final long BUCKET_MILLIS = 60_000L;
+    static final int BUCKET_COUNT = 60;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalContentLength = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder updatedCount = new LongAdder();
+    private final LongAdder deletedCount = new LongAdder();
+
+    // 버킷 배열, 각 칸에는 (몇 번째 분인지, 그 분의 생성 건수)가 담긴다.
+    // 칸의 분(epoch)이 현재와 다르면 지난 시간의 데이터이므로 새 버킷으로 교체(CAS)한다.
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKET_COUNT);
+
+    // 서버 기동 완료 시점(data.sql 적용 이후)에 db 전체 건수로 카운터를 맞춘다.
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcile() {
+        long count = articleRepository.count();
+        long contentLength = articleRepository.sumContentLength();
+        totalCount.reset();
+        totalCount.add(count);
+        totalContentLength.reset();
+        totalContentLength.add(contentLength);
+        log.info("# stats reconcile() count : {}, contentLength : {}", count, contentLength);
+    }
+
+    // 등록/수정/삭제는 트랜잭션이 커밋된 뒤에 반영한다(롤백된 변경은 카운터에 남지 않음).
+    // 반영할 값은 호출 시점에 미리 계산해 둔다(커밋 전에 엔티티가 다시 바뀌어도 영향 없음).
+    public void onCreate(Article created) {
+        int contentLength = lengthOf(created.getContent());
+        AfterCommit.run(() -> {
+            totalCount.increment();
+            totalContentLength.add(contentLength);
+            createdCount.increment();
+            bucketFor(System.currentTimeMillis()).count.increment();
+        });
+    }
+
+    // 수정은 건수 변화 없이 내용 길이의 차이만 반영한다.
+    public void onUpdate(int beforeContentLength, Article updated) {
+        int difference = lengthOf(updated.getContent()) - beforeContentLength;
+        AfterCommit.run(() -> {
+            totalContentLength.add(difference);
+            updatedCount.increment();
+        });
+    }
+
+    public void onDelete(Article deleted) {
+        int contentLength = lengthOf(deleted.getContent());
+        AfterCommit.run(() -> {
+            totalCount.decrement();
+            totalContentLength.add(-contentLength);
+            deletedCount.increment();
+        });
+    }
+
+    public ArticleStats stats() {
+        return stats(System.currentTimeMillis());
+    }
+
+    ArticleStats stats(long now) {
+        long count = totalCount.sum();
+        long contentLength = totalContentLength.sum();
+        double average = (count > 0) ? (double) contentLength / count : 0.0;
+
+        // 가장 오래된 분부터 현재 분까지 순서대로 생성 건수를 담는다.
+        long currentEpoch = now / BUCKET_MILLIS;
+        long firstEpoch = currentEpoch - BUCKET_COUNT + 1;
+        List<Long> series = new ArrayList<>(BUCKET_COUNT);
+        for (long epoch = firstEpoch; epoch <= currentEpoch; epoch++) {
+            Bucket bucket = buckets.get(indexOf(epoch));
+            series.add((bucket != null && bucket.epoch == epoch) ? bucket.count.sum() : 0L);
+        }
+
+        return new ArticleStats(count, contentLength, average,
+                createdCount.sum(), updatedCount.sum(), deletedCount.sum(),
+                BUCKET_MILLIS, firstEpoch * BUCKET_MILLIS, series);
+    }
+
+    Bucket bucketFor(long now) {
+        long epoch = now / BUCKET_MILLIS;
+        int index = indexOf(epoch);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch == epoch) {
+                return bucket;
+            }
+            // 지난 시간의 버킷이면 새 버킷으로 교체한다. 다른 스레드가 먼저 교체했다면 다시 읽는다.
+            Bucket fresh = new Bucket(epoch);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    static int lengthOf(String content) {
+        return (content != null) ? content.length() : 0;
+    }
+
+    private static int indexOf(long epoch) {
+        return (int) Math.floorMod(epoch, (long) BUCKET_COUNT);
+    }
+
+    static final class Bucket {
+        final long epoch;
+        final LongAdder count = new LongAdder();
+
+        Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleTitle;
+import kr.or.ddit.entity.Article;
+import kr.or.ddit.repository.ArticleRepository;
+import lombok.extern.slf4j.Slf4j;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// 게시글 제목 자동완성 서비스
+// 키를 입력할 때마다 db에 LIKE 'prefix%' 조회를 보내지 않도록, 전체 제목을 메모리의 압축 트라이(TitleTrie)에
+// 올려 두고 접두어 검색은 트라이에서만 처리한다.
+// - 서버 기동 시점에 db의 id, 제목만 읽어 한 번 구축하고(rebuild), 이후에는 ArticleService의
+//   등록/수정/삭제가 커밋된 뒤에 해당 게시글만 반영한다(증분 방식, 롤백된 변경은 반영하지 않음).
+// - 대소문자와 앞뒤 공백은 구분하지 않는다. 결과는 접두어마다 최근 게시글(id가 큰 순) 최대 max-results 건이다.
+// - 메모리 사용량을 제한하기 위해 제목 앞쪽 max-key-length 글자까지만 키와 표시용 제목으로 보관한다.
+//   (그보다 긴 접두어로 검색하면 max-key-length 글자까지만 비교하고, 긴 제목은 잘린 채로 반환된다)
+@Slf4j
+@Service
+public class ArticleSuggestService {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${ddit.suggest.max-key-length:64}")
+    private int maxKeyLength;
+
+    @Value("${ddit.suggest.max-results:20}")
+    private int maxResults;
+
+    // 검색은 여러 요청이 동시에, 반영은 한 번에 하나씩
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TitleTrie trie;
+
+    // rebuild 중에 커밋된 변경, 새 트라이를 다 만든 뒤에 한 번 더 반영한다. (rebuild 중이 아니면 null)
+    private List<Consumer<TitleTrie>> changesDuringRebuild;
+
+    @PostConstruct
+    void init() {
+        trie = new TitleTrie(maxResults);
+    }
+
+    // 서버 기동 완료 시점(data.sql 적용 이후)에 전체 제목으로 트라이를 만든다.
+    // 새 트라이를 다 만든 뒤에 교체하므로 구축 중에도 검색은 기존 트라이로 응답한다.
+    // 구축 중에 커밋된 등록/수정/삭제는 기존 트라이에 반영하면서 따로 모아 두었다가 새 트라이에 다시 반영한다.
+    // (db 조회 결과에 이미 들어 있는 변경이어도 다시 반영한 결과는 같다)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            changesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        TitleTrie built = new TitleTrie(maxResults);
+        boolean completed = false;
+        try (Stream<ArticleTitle> titles = articleRepository.streamTitles()) {
+            titles.forEach(title -> {
+                if (title.getTitle() != null) {
+                    built.add(keyOf(title.getTitle()), title.getId(), displayOf(title.getTitle()));
+                }
+            });
+            completed = true;
+        } finally {
+            // 구축에 실패하면 기존 트라이를 그대로 사용한다.
+            lock.writeLock().lock();
+            try {
+                if (completed) {
+                    changesDuringRebuild.forEach(change -> change.accept(built));
+                    trie = built;
+                }
+                changesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("# suggest rebuild() titles : {}, {}ms", built.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // prefix로 시작하는 제목을 최근 게시글부터 최대 limit 건 반환한다.
+    public List<ArticleTitle> suggest(String prefix, int limit) {
+        String key = keyOf(prefix);
+        int size = Math.max(1, Math.min(limit, maxResults));
+        lock.readLock().lock();
+        try {
+            return trie.search(key, size);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void onCreate(Article created) {
+        if (created.getTitle() == null) {
+            return;
+        }
+        long id = created.getId();
+        String key = keyOf(created.getTitle());
+        String display = displayOf(created.getTitle());
+        AfterCommit.run(() -> apply(target -> target.add(key, id, display)));
+    }
+
+    // 제목이 바뀐 경우에만 기존 키를 지우고 새 키로 등록한다.
+    public void onUpdate(String beforeTitle, Article updated) {
+        if (Objects.equals(beforeTitle, updated.getTitle())) {
+            return;
+        }
+        long id = updated.getId();
+        String beforeKey = beforeTitle != null ? keyOf(beforeTitle) : null;
+        String key = updated.getTitle() != null ? keyOf(updated.getTitle()) : null;
+        String display = updated.getTitle() != null ? displayOf(updated.getTitle()) : null;
+        AfterCommit.run(() -> apply(target -> {
+            if (beforeKey != null) {
+                target.remove(beforeKey, id);
+            }
+            if (key != null) {
+                target.add(key, id, display);
+            }
+        }));
+    }
+
+    public void onDelete(Article deleted) {
+        if (deleted.getTitle() == null) {
+            return;
+        }
+        long id = deleted.getId();
+        String key = keyOf(deleted.getTitle());
+        AfterCommit.run(() -> apply(target -> target.remove(key, id)));
+    }
+
+    private void apply(Consumer<TitleTrie> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(trie);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private String keyOf(String title) {
+        String key = title.strip().toLowerCase(Locale.ROOT);
+        return key.length() > maxKeyLength ? key.substring(0, maxKeyLength) : key;
+    }
+
+    // 응답에 보여 줄 제목, 키와 같은 길이까지만 보관한다.
+    private String displayOf(String title) {
+        String display = title.strip();
+        return display.length() > maxKeyLength ? display.substring(0, maxKeyLength) : display;
+    }
+}
@@ -0,0 +1,92 @@
+package kr.or.ddit.service;
+
+import jakarta.annotation.PostConstruct;
+import kr.or.ddit.dto.ArticleTrend;
+import kr.or.ddit.entity.Article;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// 인기 게시글(최근 조회수 상위) 서비스, 관리자 대시보드의 "최근 1시간 인기 게시글"용
+// 게시글 전체를 조회수로 정렬하지 않고, 상세조회가 일어날 때마다(ArticleViewService.record())
+// 고정 크기의 스트리밍 집계(TrendingWindow : 시간 칸별 Count-Min 스케치 + 상위 후보)에 더해 둔다.
+// 정확도와 메모리는 아래 설정으로 조절한다.
+// - slot-seconds x slots : 집계할 수 있는 최대 기간과 기간의 단위(기본 5분 x 12칸 = 1시간)
+// - width, depth : 스케치 크기, 클수록 정확(칸 하나당 width x depth x 8바이트)
+// - top-k : 칸마다 유지할 후보 수, 응답 limit보다 충분히 크게 둔다.
+@Slf4j
+@Service
+public class ArticleTrendingService {
+
+    // 응답의 제목 조회, 삭제된 게시글 제외(SQL 없이 목록 스냅샷에서 찾는다)
+    @Autowired
+    private ArticleSnapshotService articleSnapshotService;
+
+    @Value("${ddit.trending.slot-seconds:300}")
+    private long slotSeconds;
+
+    @Value("${ddit.trending.slots:12}")
+    private int slotCount;
+
+    @Value("${ddit.trending.width:2048}")
+    private int width;
+
+    @Value("${ddit.trending.depth:4}")
+    private int depth;
+
+    @Value("${ddit.trending.top-k:50}")
+    private int topK;
+
+    private TrendingWindow window;
+
+    @PostConstruct
+    void init() {
+        window = new TrendingWindow(slotSeconds * 1000, slotCount, width, depth, topK);
+        log.info("# trending window : {}s x {}, sketch {}x{}, top-k {}", slotSeconds, slotCount, width, depth, topK);
+    }
+
+    public void record(Long id) {
+        window.record(id, System.currentTimeMillis());
+    }
+
+    // 기간 형식 검증, 문제가 없으면 null, 있으면 오류 메시지를 반환한다. (예: 1h, 30m, PT15M)
+    public String validateWindow(String period) {
+        Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(period);
+        } catch (IllegalArgumentException e) {
+            return "invalid window " + period;
+        }
+        if (duration.isNegative() || duration.isZero() || duration.toMillis() > window.maxWindowMillis()) {
+            return "window must be between 1ms and " + Duration.ofMillis(window.maxWindowMillis());
+        }
+        return null;
+    }
+
+    // validateWindow()를 통과한 기간 동안 조회수가 많은 게시글 순으로 최대 limit(top-k 이하)건
+    public List<ArticleTrend> trending(String period, int limit) {
+        long windowMillis = DurationStyle.detectAndParse(period).toMillis();
+        // 칸마다 top-k 건의 후보만 유지하므로 그보다 많이 요청해도 top-k 건까지만 반환한다.
+        int size = Math.max(1, Math.min(limit, topK));
+        // 삭제된 게시글을 건너뛸 수 있도록 여유 있게 가져온다.
+        List<long[]> top = window.top(windowMillis, size * 2, System.currentTimeMillis());
+        List<ArticleTrend> result = new ArrayList<>(size);
+        boolean snapshotLoaded = articleSnapshotService.isLoaded();
+        for (long[] entry : top) {
+            if (result.size() >= size) {
+                break;
+            }
+            Article article = articleSnapshotService.get(entry[0]);
+            if (article != null || !snapshotLoaded) {
+                result.add(new ArticleTrend(entry[0], article != null ? article.getTitle() : null, entry[1]));
+            }
+        }
+        return result;
+    }
+}
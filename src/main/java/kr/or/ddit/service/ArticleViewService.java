@@ -0,0 +1,189 @@
+package kr.or.ddit.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.or.ddit.dto.ArticleViews;
+import kr.or.ddit.entity.ArticleView;
+import kr.or.ddit.repository.ArticleViewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 게시글 조회수 서비스
+// 조회할 때마다 db에 UPDATE 하지 않고, 게시글별 LongAdder(여러 스레드가 동시에 더해도 경합이 적은 카운터)에
+// 메모리로만 더해 둔다(record, 락 없음). flush()가 주기적으로(ddit.views.flush-interval-ms) 카운터에 쌓인
+// 증가분을 꺼내(sumThenReset, 카운터는 맵에 그대로 둔다) article_view 테이블에 MERGE 배치 한 번으로 더한다.
+// 같은 게시글의 조회 N번이 UPDATE 1번이 된다.
+// - 삭제된 게시글의 조회수는 반영하지 않는다. flush는 반영할 게시글 행을 먼저 잠그고(select ... for update)
+//   남아 있는 게시글만 MERGE 하므로, 삭제 트랜잭션과 겹쳐도 article_view에 삭제된 게시글의 행이 다시 생기지 않는다.
+//   (ArticleService.delete()도 article 행을 먼저 지운 뒤 article_view를 지우므로 잠금 순서가 같다)
+// - 유실 범위 : 서버가 비정상 종료되면 마지막 flush 이후(최대 flush 주기 동안)의 조회수만 유실된다.
+//   정상 종료 시에는 남은 증가분을 반영한 뒤 종료한다(@PreDestroy).
+// - flush가 실패하면(db 오류) 꺼낸 증가분을 다시 되돌려 다음 flush에서 재시도한다.
+// - 두 번 연속 flush 동안 증가분이 없던 게시글의 카운터는 맵에서 정리하므로 메모리에는 최근에 조회된 게시글만 남는다.
+//   정리된 카운터에 더해진 조회는 flush 또는 기록한 스레드가 새 카운터로 옮기므로 유실되지 않는다.
+@Slf4j
+@Service
+public class ArticleViewService {
+
+    // H2/표준 SQL MERGE, 행이 있으면 증가분을 더하고 없으면 만든다.
+    private static final String MERGE_SQL = "merge into article_view v"
+            + " using (values (cast(? as bigint), cast(? as bigint))) d(article_id, delta)"
+            + " on v.article_id = d.article_id"
+            + " when matched then update set v.view_count = v.view_count + d.delta"
+            + " when not matched then insert (article_id, view_count) values (d.article_id, d.delta)";
+
+    // 반영할 게시글 행을 잠글 때 IN 조회 한 번에 넣을 id 수
+    private static final int LOCK_CHUNK_SIZE = 500;
+
+    @Autowired
+    private ArticleViewRepository articleViewRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // 조회가 기록될 때 인기 게시글 집계에도 함께 더한다.
+    @Autowired
+    private ArticleTrendingService articleTrendingService;
+
+    private TransactionTemplate transactionTemplate;
+
+    // 게시글 id -> db에 아직 반영되지 않은 조회수
+    private final Map<Long, ViewCounter> pending = new ConcurrentHashMap<>();
+
+    // 조회수 읽기(views)가 flush 도중의 값(카운터에서는 빠졌지만 db에는 아직 반영 전)을 보지 않도록 한다.
+    // 기록(record)은 락을 잡지 않는다.
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void record(Long id) {
+        add(id, 1);
+        articleTrendingService.record(id);
+    }
+
+    private void add(Long id, long delta) {
+        ViewCounter counter = pending.computeIfAbsent(id, key -> new ViewCounter());
+        counter.add(delta);
+        // 더하는 사이에 flush가 카운터를 정리했으면(맵에서 뺐으면) 새 카운터로 옮긴다.
+        // (sumThenReset은 칸마다 한 번씩만 꺼내므로 flush와 함께 옮겨도 두 번 더해지지 않는다)
+        if (pending.get(id) != counter) {
+            long moved = counter.sumThenReset();
+            if (moved > 0) {
+                add(id, moved);
+            }
+        }
+    }
+
+    // db에 반영된 조회수 + 반영 대기 중인 증가분
+    public ArticleViews views(Long id) {
+        flushLock.readLock().lock();
+        try {
+            long stored = articleViewRepository.findById(id).map(ArticleView::getViewCount).orElse(0L);
+            LongAdder counter = pending.get(id);
+            return new ArticleViews(id, stored + (counter != null ? counter.sum() : 0));
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    // 게시글 삭제 시 저장된 조회수를 함께 지우고, 커밋되면 대기 중인 증가분도 버린다.
+    // (ArticleService.delete() 트랜잭션 안에서 호출, 커밋 전에 flush 되는 증가분은 flush의 행 잠금이 막는다)
+    public void onDelete(Long id) {
+        articleViewRepository.deleteByArticleId(id);
+        AfterCommit.run(() -> pending.remove(id));
+    }
+
+    // 쌓인 증가분을 꺼내(sumThenReset) 한 트랜잭션, 한 번의 JDBC 배치로 반영한다.
+    @Scheduled(fixedDelayString = "${ddit.views.flush-interval-ms:1000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    private void flushPending() {
+        Map<Long, Long> deltas = new HashMap<>();
+        for (Map.Entry<Long, ViewCounter> entry : pending.entrySet()) {
+            ViewCounter counter = entry.getValue();
+            long delta = counter.sumThenReset();
+            if (delta > 0) {
+                deltas.put(entry.getKey(), delta);
+                counter.idle = false;
+            } else if (!counter.idle) {
+                counter.idle = true;
+            } else if (pending.remove(entry.getKey(), counter)) {
+                // 지우는 사이에 더해진 값이 있으면 새 카운터로 옮긴다.
+                long late = counter.sumThenReset();
+                if (late > 0) {
+                    add(entry.getKey(), late);
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            int merged = transactionTemplate.execute(status -> {
+                List<Object[]> batch = new ArrayList<>();
+                for (Long id : lockExisting(deltas.keySet())) {
+                    batch.add(new Object[]{id, deltas.get(id)});
+                }
+                jdbcTemplate.batchUpdate(MERGE_SQL, batch);
+                return batch.size();
+            });
+            log.debug("# views flush() articles : {}, skipped(deleted) : {}", merged, deltas.size() - merged);
+        } catch (DataAccessException e) {
+            // 트랜잭션 전체가 롤백되었으므로 꺼낸 증가분을 모두 되돌린다.
+            deltas.forEach(this::add);
+            log.warn("# views flush() failed, {} articles will be retried : {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    // ids 중 article에 남아 있는 게시글 id, 트랜잭션이 끝날 때까지 해당 행을 잠근다.
+    // 삭제가 진행 중인 게시글은 삭제 트랜잭션이 끝날 때까지 기다렸다가 결과에서 빠진다.
+    private List<Long> lockExisting(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<Long> existing = new ArrayList<>(all.size());
+        for (int from = 0; from < all.size(); from += LOCK_CHUNK_SIZE) {
+            List<Long> chunk = all.subList(from, Math.min(from + LOCK_CHUNK_SIZE, all.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            existing.addAll(jdbcTemplate.queryForList(
+                    "select id from article where id in (" + placeholders + ") for update", Long.class, chunk.toArray()));
+        }
+        return existing;
+    }
+
+    // 게시글 하나의 반영 대기 중인 조회수
+    private static final class ViewCounter extends LongAdder {
+        // 직전 flush에서 증가분이 없었는지, flush(쓰기 락 안)에서만 읽고 쓴다.
+        boolean idle;
+    }
+
+    // 정상 종료 시 남은 증가분 반영
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,122 @@
+package kr.or.ddit.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// CSV(RFC 4180) 레코드를 하나씩 읽는 리더
+// - 쉼표로 필드를 나누고, 큰따옴표로 감싼 필드 안에는 쉼표, 줄바꿈, ""(따옴표)를 쓸 수 있다.
+// - 파일 전체가 아니라 레코드 하나 분량만 메모리에 두므로 입력 크기와 상관없이 메모리 사용량이 일정하다.
+// - 레코드 하나가 maxRecordChars(구분자 포함)를 넘으면 나머지는 버리고 오류 레코드로 반환한다.
+final class CsvRecordReader {
+
+    private final Reader reader;
+    private final int maxRecordChars;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int limit;
+
+    // 현재 읽고 있는 줄 번호(1부터)
+    private long line = 1;
+
+    CsvRecordReader(Reader reader, int maxRecordChars) {
+        this.reader = reader;
+        this.maxRecordChars = maxRecordChars;
+    }
+
+    // 다음 레코드, 입력이 끝났으면 null
+    Record next() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        long recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int recordChars = 0;
+        boolean quoted = false;
+        boolean tooLong = false;
+
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    fields.add(field.toString());
+                    return new Record(recordLine, fields, "unterminated quoted field");
+                }
+                if (c == '"') {
+                    int n = peek();
+                    if (n == '"') {
+                        read();
+                        c = '"';
+                    } else {
+                        quoted = false;
+                        c = read();
+                        continue;
+                    }
+                }
+            } else if (c < 0 || c == '\n' || c == '\r') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (c >= 0) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return new Record(recordLine, fields, tooLong ? "record longer than " + maxRecordChars + " chars" : null);
+            } else if (c == ',') {
+                // 구분자도 글자 수에 포함한다. (쉼표만 계속되는 레코드도 필드 목록이 한없이 늘어나지 않도록)
+                if (++recordChars > maxRecordChars) {
+                    tooLong = true;
+                } else {
+                    fields.add(field.toString());
+                }
+                field.setLength(0);
+                c = read();
+                continue;
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+                c = read();
+                continue;
+            }
+
+            if (c == '\n') {
+                line++;
+            }
+            if (++recordChars > maxRecordChars) {
+                tooLong = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    // line : 레코드가 시작된 줄 번호, error : 형식 오류가 있으면 사유
+    record Record(long line, List<String> fields, String error) {
+    }
+}
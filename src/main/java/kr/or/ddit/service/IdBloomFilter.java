@@ -0,0 +1,67 @@
+package kr.or.ddit.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 게시글 id 블룸 필터, 어떤 id가 "확실히 없는지"를 비트 배열만으로 판단한다.
+// - mightContain()이 false이면 put() 된 적이 없는 id이다(거짓 음성 없음).
+// - true이면 있을 수도 있는 id이다(설정한 확률 fpp 정도로 거짓 양성).
+// - 지우기는 지원하지 않으므로 삭제된 id는 다시 만들 때(rebuild) 빠진다.
+// 비트는 AtomicLongArray에 CAS로 세우므로 여러 스레드가 동시에 put(), mightContain() 해도 된다.
+final class IdBloomFilter {
+
+    private final long bitCount;
+    private final int hashCount;
+    private final AtomicLongArray bits;
+
+    // expectedInsertions개를 넣었을 때 거짓 양성 확률이 fpp가 되도록 비트 수와 해시 수를 정한다.
+    IdBloomFilter(long expectedInsertions, double fpp) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, ((m + 63) / 64) * 64);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    void put(long id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = indexOf(h1 + i * h2);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((bits.get(word) & mask) == 0) {
+                bits.getAndAccumulate(word, mask, (current, m) -> current | m);
+            }
+        }
+    }
+
+    boolean mightContain(long id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = indexOf(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long indexOf(int combined) {
+        return Math.floorMod((long) combined, bitCount);
+    }
+
+    // splitmix64 섞기, 연속된 id도 비트가 고르게 퍼지도록 한다.
+    private static long mix(long id) {
+        long h = id + 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,79 @@
+package kr.or.ddit.service;
+
+import java.io.IOException;
+import java.io.Reader;
+
+// 줄 단위 레코드(NDJSON)를 하나씩 읽는 리더
+// - BufferedReader.readLine()은 줄 길이에 제한이 없어서 줄바꿈 없는 큰 입력이 통째로 문자열이 되므로,
+//   CsvRecordReader와 같이 줄 하나 분량(최대 maxLineChars)만 메모리에 둔다.
+// - 줄바꿈은 \n, \r, \r\n 모두 인식한다.
+// - 줄 하나가 maxLineChars를 넘으면 줄 끝까지 읽어서 버리고 오류 줄로 반환한다.
+final class LineRecordReader {
+
+    private final Reader reader;
+    private final int maxLineChars;
+    private final char[] buffer = new char[64 * 1024];
+    private int position;
+    private int limit;
+
+    // 다음에 읽을 줄 번호(1부터)
+    private long line = 1;
+
+    LineRecordReader(Reader reader, int maxLineChars) {
+        this.reader = reader;
+        this.maxLineChars = maxLineChars;
+    }
+
+    // 다음 줄, 입력이 끝났으면 null
+    Line next() throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        long number = line++;
+        StringBuilder text = new StringBuilder();
+        boolean tooLong = false;
+        while (c >= 0 && c != '\n' && c != '\r') {
+            if (text.length() < maxLineChars) {
+                text.append((char) c);
+            } else {
+                tooLong = true;
+            }
+            c = read();
+        }
+        if (c == '\r' && peek() == '\n') {
+            read();
+        }
+        return tooLong
+                ? new Line(number, null, "line longer than " + maxLineChars + " chars")
+                : new Line(number, text.toString(), null);
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int n = reader.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = n;
+        return true;
+    }
+
+    // number : 줄 번호, text : 줄 내용(오류이면 null), error : 너무 길면 사유
+    record Line(long number, String text, String error) {
+    }
+}
@@ -0,0 +1,276 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleTitle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 제목 접두어 검색용 압축 트라이(radix tree)
+// 글자 하나마다 노드를 만드는 대신, 갈라지지 않는 구간은 간선 하나(label)에 묶어서 노드 수를 줄인다.
+// 노드 수는 등록된 키 수의 약 2배를 넘지 않는다.
+// - 키 : 정규화된 제목(소문자, 앞뒤 공백 제거, 최대 길이 제한), 값 : 게시글 id와 표시용 제목(길이 제한)
+// - 순위 : id가 클수록(최근 게시글일수록) 앞선다.
+// - 노드마다 하위 전체에서 순위가 가장 높은 k건(top)을 미리 유지하므로, 검색은 접두어 위치까지 내려간 뒤
+//   그 노드의 top을 그대로 반환한다(하위 노드를 방문하지 않음). 메모리는 노드당 최대 k개의 참조가 더 든다.
+// 동기화는 하지 않으므로 호출하는 쪽(ArticleSuggestService)에서 락을 잡는다.
+final class TitleTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int k;
+    private final Node root = new Node("");
+    private int size;
+
+    // k : 노드마다 유지할 상위 건수 (검색 한 번에 반환할 수 있는 최대 건수)
+    TitleTrie(int k) {
+        this.k = k;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // 같은 키에 같은 id가 이미 있으면 무시한다. (rebuild 중 변경을 다시 반영해도 결과가 같도록)
+    void add(String key, long id, String title) {
+        Entry entry = new Entry(id, title);
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            path.add(node);
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(i));
+                leaf.entries = new Entry[]{entry};
+                leaf.top = new Entry[]{entry};
+                node.insertChild(-index - 1, leaf);
+                size++;
+                path.forEach(parent -> parent.offerTop(entry, k));
+                return;
+            }
+            Node child = node.children[index];
+            int common = commonLength(child.label, key, i);
+            if (common < child.label.length()) {
+                // 간선 중간에서 갈라지므로 공통 부분을 새 노드로 나눈다. (하위 전체가 같으므로 top도 같다)
+                Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.children = new Node[]{child};
+                middle.top = child.top;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            i += common;
+        }
+        if (node.indexOfEntry(id) >= 0) {
+            return;
+        }
+        node.entries = Arrays.copyOf(node.entries, node.entries.length + 1);
+        node.entries[node.entries.length - 1] = entry;
+        size++;
+        path.add(node);
+        path.forEach(parent -> parent.offerTop(entry, k));
+    }
+
+    boolean remove(String key, long id) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            path.add(node);
+            int index = node.indexOf(key.charAt(i));
+            if (index < 0) {
+                return false;
+            }
+            Node child = node.children[index];
+            if (!key.startsWith(child.label, i)) {
+                return false;
+            }
+            node = child;
+            i += child.label.length();
+        }
+        int e = node.indexOfEntry(id);
+        if (e < 0) {
+            return false;
+        }
+        Entry[] next = new Entry[node.entries.length - 1];
+        System.arraycopy(node.entries, 0, next, 0, e);
+        System.arraycopy(node.entries, e + 1, next, e, next.length - e);
+        node.entries = next;
+        size--;
+
+        // 아래쪽 노드부터 top을 다시 계산한다. (자식의 top이 먼저 맞아야 부모를 계산할 수 있음)
+        path.add(node);
+        for (int p = path.size() - 1; p >= 0; p--) {
+            Node current = path.get(p);
+            if (!current.topContains(id)) {
+                break;
+            }
+            current.recomputeTop(k);
+        }
+
+        // 빈 노드를 정리하고, 값 없이 자식이 하나뿐인 노드는 자식과 합친다.
+        Node parent = path.size() > 1 ? path.get(path.size() - 2) : null;
+        if (parent != null && node.entries.length == 0) {
+            if (node.children.length == 0) {
+                parent.removeChild(node);
+                if (parent != root && parent.entries.length == 0 && parent.children.length == 1) {
+                    parent.mergeWithOnlyChild();
+                }
+            } else if (node.children.length == 1) {
+                node.mergeWithOnlyChild();
+            }
+        }
+        return true;
+    }
+
+    // prefix로 시작하는 키 중 순위가 높은 순으로 최대 limit(k 이하) 건
+    List<ArticleTitle> search(String prefix, int limit) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            int index = node.indexOf(prefix.charAt(i));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children[index];
+            int remaining = prefix.length() - i;
+            if (child.label.length() <= remaining) {
+                if (!prefix.startsWith(child.label, i)) {
+                    return List.of();
+                }
+            } else if (!child.label.startsWith(prefix.substring(i))) {
+                return List.of();
+            }
+            node = child;
+            i += child.label.length();
+        }
+        int count = Math.min(limit, node.top.length);
+        List<ArticleTitle> result = new ArrayList<>(count);
+        for (int e = 0; e < count; e++) {
+            result.add(new ArticleTitle(node.top[e].id, node.top[e].title));
+        }
+        return result;
+    }
+
+    private static int commonLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int n = 0;
+        while (n < max && label.charAt(n) == key.charAt(offset + n)) {
+            n++;
+        }
+        return n;
+    }
+
+    private record Entry(long id, String title) {
+    }
+
+    private static final class Node {
+        String label;
+        // 첫 글자 순으로 정렬된 자식 노드
+        Node[] children = NO_CHILDREN;
+        // 이 노드에서 끝나는 키의 게시글 (같은 제목의 게시글이 여러 개일 수 있음)
+        Entry[] entries = NO_ENTRIES;
+        // 이 노드와 하위 전체에서 id가 가장 큰 k건, id 내림차순
+        Entry[] top = NO_ENTRIES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        // 첫 글자가 c인 자식의 위치, 없으면 (-(삽입 위치) - 1)
+        int indexOf(char c) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midChar = children[mid].label.charAt(0);
+                if (midChar < c) {
+                    low = mid + 1;
+                } else if (midChar > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        int indexOfEntry(long id) {
+            for (int e = 0; e < entries.length; e++) {
+                if (entries[e].id == id) {
+                    return e;
+                }
+            }
+            return -1;
+        }
+
+        boolean topContains(long id) {
+            for (Entry entry : top) {
+                if (entry.id == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // 새 항목이 상위 k건에 들면 순서에 맞게 끼워 넣는다.
+        void offerTop(Entry entry, int k) {
+            int position = 0;
+            while (position < top.length && top[position].id > entry.id) {
+                position++;
+            }
+            if (position >= k) {
+                return;
+            }
+            int length = Math.min(top.length + 1, k);
+            Entry[] next = new Entry[length];
+            System.arraycopy(top, 0, next, 0, position);
+            next[position] = entry;
+            System.arraycopy(top, position, next, position + 1, length - position - 1);
+            top = next;
+        }
+
+        // 자기 항목과 자식들의 top을 합쳐 다시 계산한다.
+        void recomputeTop(int k) {
+            top = NO_ENTRIES;
+            for (Entry entry : entries) {
+                offerTop(entry, k);
+            }
+            for (Node child : children) {
+                for (Entry entry : child.top) {
+                    if (top.length == k && entry.id < top[k - 1].id) {
+                        break;
+                    }
+                    offerTop(entry, k);
+                }
+            }
+        }
+
+        void insertChild(int position, Node child) {
+            Node[] next = new Node[children.length + 1];
+            System.arraycopy(children, 0, next, 0, position);
+            next[position] = child;
+            System.arraycopy(children, position, next, position + 1, children.length - position);
+            children = next;
+        }
+
+        void removeChild(Node child) {
+            int position = indexOf(child.label.charAt(0));
+            Node[] next = new Node[children.length - 1];
+            System.arraycopy(children, 0, next, 0, position);
+            System.arraycopy(children, position + 1, next, position, next.length - position);
+            children = next;
+        }
+
+        void mergeWithOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            children = child.children;
+            entries = child.entries;
+            top = child.top;
+        }
+    }
+}
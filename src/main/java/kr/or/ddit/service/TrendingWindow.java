@@ -0,0 +1,138 @@
+package kr.or.ddit.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 최근 조회수 상위 게시글(heavy hitter) 집계
+// 시간을 slotMillis 단위 칸(slot)으로 나누고, slotCount + 1개의 칸을 고리(ring) 형태로 재사용한다.
+// (채워지고 있는 현재 칸 외에 지난 칸 slotCount개를 보관해야 최대 기간 전체를 집계할 수 있다)
+// 칸마다 Count-Min 스케치(조회수 근사)와 그 칸에서 조회수가 많은 후보 게시글 topK개를 가진다.
+// 기간 조회 시 기간에 걸치는 칸들의 후보를 모으고, 후보별로 각 칸의 추정값을 더해 순위를 매긴다.
+// - 메모리 : (칸 수 + 1) x (width x depth 카운터 + topK 후보)로 게시글 수, 조회 수와 상관없이 고정
+// - 기간은 칸 단위로 맞춰지므로 요청한 기간 전체에 최대 slotMillis 만큼 더 긴 기간이 집계될 수 있다.
+//   (기간의 시작이 걸치는 지난 칸은 통째로 포함하고, 짧게 집계되는 경우는 없다)
+final class TrendingWindow {
+
+    private final long slotMillis;
+    private final int slotCount;
+    private final int width;
+    private final int depth;
+    private final int topK;
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    TrendingWindow(long slotMillis, int slotCount, int width, int depth, int topK) {
+        this.slotMillis = slotMillis;
+        this.slotCount = slotCount;
+        this.width = width;
+        this.depth = depth;
+        this.topK = topK;
+        this.slots = new AtomicReferenceArray<>(slotCount + 1);
+    }
+
+    // 집계할 수 있는 최대 기간
+    long maxWindowMillis() {
+        return slotMillis * slotCount;
+    }
+
+    void record(long id, long now) {
+        slotFor(now).record(id);
+    }
+
+    // 최근 windowMillis 동안 조회수가 많은 게시글 순으로 최대 limit건, 각 항목은 {id, 추정 조회수}
+    List<long[]> top(long windowMillis, int limit, long now) {
+        long currentEpoch = now / slotMillis;
+        // 현재 칸은 칸 시작부터 지금까지(elapsed)만 채워져 있으므로, 남은 기간을 덮는 지난 칸 수 + 현재 칸
+        long elapsed = now % slotMillis;
+        long pastSlots = Math.max(0, (windowMillis - elapsed + slotMillis - 1) / slotMillis);
+        long slotsInWindow = Math.min(slotCount + 1, pastSlots + 1);
+        List<Slot> inWindow = new ArrayList<>();
+        Set<Long> candidates = new HashSet<>();
+        for (long epoch = currentEpoch - slotsInWindow + 1; epoch <= currentEpoch; epoch++) {
+            Slot slot = slots.get(indexOf(epoch));
+            if (slot != null && slot.epoch == epoch) {
+                inWindow.add(slot);
+                candidates.addAll(slot.top.keySet());
+            }
+        }
+        List<long[]> ranked = new ArrayList<>(candidates.size());
+        for (Long id : candidates) {
+            long views = 0;
+            for (Slot slot : inWindow) {
+                views += slot.sketch.estimate(id);
+            }
+            ranked.add(new long[]{id, views});
+        }
+        ranked.sort((a, b) -> a[1] != b[1] ? Long.compare(b[1], a[1]) : Long.compare(a[0], b[0]));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    private Slot slotFor(long now) {
+        long epoch = now / slotMillis;
+        int index = indexOf(epoch);
+        while (true) {
+            Slot slot = slots.get(index);
+            if (slot != null && slot.epoch == epoch) {
+                return slot;
+            }
+            // 지난 시간의 칸이면 새 칸으로 교체한다. 다른 스레드가 먼저 교체했다면 다시 읽는다.
+            Slot fresh = new Slot(epoch);
+            if (slots.compareAndSet(index, slot, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private int indexOf(long epoch) {
+        return (int) Math.floorMod(epoch, (long) slotCount + 1);
+    }
+
+    private final class Slot {
+        final long epoch;
+        final CountMinSketch sketch = new CountMinSketch(width, depth);
+        // 후보 게시글 id -> 마지막으로 본 추정값, 최대 topK개
+        final Map<Long, Long> top = new ConcurrentHashMap<>();
+        // 후보가 가득 찼을 때 가장 작은 추정값, 이보다 작은 게시글은 락 없이 건너뛴다.
+        volatile long floor;
+
+        Slot(long epoch) {
+            this.epoch = epoch;
+        }
+
+        void record(long id) {
+            long estimate = sketch.add(id);
+            if (top.containsKey(id)) {
+                top.merge(id, estimate, Math::max);
+            } else if (top.size() < topK || estimate > floor) {
+                admit(id, estimate);
+            }
+        }
+
+        // 후보에 넣고, topK개를 넘으면 추정값이 가장 작은 후보를 뺀다.
+        private synchronized void admit(long id, long estimate) {
+            top.merge(id, estimate, Math::max);
+            if (top.size() <= topK) {
+                return;
+            }
+            Long minId = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<Long, Long> entry : top.entrySet()) {
+                if (entry.getValue() < min) {
+                    min = entry.getValue();
+                    minId = entry.getKey();
+                }
+            }
+            top.remove(minId);
+            long nextFloor = Long.MAX_VALUE;
+            for (Long value : top.values()) {
+                nextFloor = Math.min(nextFloor, value);
+            }
+            floor = nextFloor;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package kr.or.ddit.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ArticleControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArticleController articleController;
+
+    @Test
+    void index_streamRender() throws Exception {
+        // 테스트 상황
+        // - 목록 화면은 스트리밍 렌더링(ArticleListStreamingView)과 기존 렌더링(articles/index)의 결과 HTML이 같아야 한다.
+        Object original = ReflectionTestUtils.getField(articleController, "streamRender");
+        try {
+            ReflectionTestUtils.setField(articleController, "streamRender", true);
+            String streamed = render();
+            ReflectionTestUtils.setField(articleController, "streamRender", false);
+            String buffered = render();
+
+            assertTrue(streamed.contains("<td><a href=\"/articles/1\">"));
+            assertEquals(buffered, streamed);
+        } finally {
+            ReflectionTestUtils.setField(articleController, "streamRender", original);
+        }
+    }
+
+    private String render() throws Exception {
+        return mockMvc.perform(get("/articles"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
@@ -0,0 +1,40 @@
+package kr.or.ddit.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArticleDeltaTest {
+
+    @Test
+    void applyTo() {
+        // 테스트 상황
+        // - 교체, 삽입, 삭제 연산을 편집 전 내용 기준의 offset으로 한 번에 적용한다.
+        String content = "0123456789";
+        ArticleDelta delta = new ArticleDelta(null, 10, List.of(
+                new ArticleDelta.Op(0, 0, "시작"),
+                new ArticleDelta.Op(2, 3, "가나"),
+                new ArticleDelta.Op(8, 2, "")));
+
+        assertNull(delta.validate(content));
+        assertEquals("시작01가나567", delta.applyTo(content));
+        assertEquals("추가", new ArticleDelta(null, null, List.of(new ArticleDelta.Op(0, 0, "추가"))).applyTo(null));
+    }
+
+    @Test
+    void validate() {
+        // 테스트 상황
+        // - 편집 전 길이가 다르거나, 연산이 범위를 벗어나거나 겹치면 오류 메시지를 반환한다.
+        String content = "0123456789";
+        ArticleDelta.Op op = new ArticleDelta.Op(0, 1, "a");
+
+        assertNotNull(new ArticleDelta(null, 9, List.of(op)).validate(content));
+        assertNotNull(new ArticleDelta(null, null, List.of(new ArticleDelta.Op(8, 3, "a"))).validate(content));
+        assertNotNull(new ArticleDelta(null, null, List.of(new ArticleDelta.Op(-1, 0, "a"))).validate(content));
+        assertNotNull(new ArticleDelta(null, null, List.of(new ArticleDelta.Op(3, 2, "a"), new ArticleDelta.Op(4, 0, "b"))).validate(content));
+        assertNotNull(new ArticleDelta(null, null, List.of(new ArticleDelta.Op(0, 0, null))).validate(content));
+        assertNull(new ArticleDelta(null, null, List.of(new ArticleDelta.Op(10, 0, "끝"))).validate(content));
+    }
+}
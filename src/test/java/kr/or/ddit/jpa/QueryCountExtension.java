@@ -0,0 +1,55 @@
+package kr.or.ddit.jpa;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 테스트용 SQL 실행 횟수 검증 확장(JUnit Extension)
+// 테스트 클래스에 아래와 같이 등록하면 각 테스트 메서드 동안 실행된 SQL 문장 수를 셀 수 있다.
+//
+//   @RegisterExtension
+//   QueryCountExtension queries = new QueryCountExtension();
+//
+//   // 서비스 호출 한 번에 SQL이 2번 이하로 실행되어야 통과
+//   Article updated = queries.assertAtMost(2, () -> articleService.update(id, dto));
+public class QueryCountExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private QueryCounter counter;
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        counter = QueryCounter.begin(-1, false);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        QueryCounter.end();
+        counter = null;
+    }
+
+    public void reset() {
+        counter.reset();
+    }
+
+    public int getStatementCount() {
+        return counter.getStatementCount();
+    }
+
+    public long getRowCount() {
+        return counter.getRowCount();
+    }
+
+    // call 을 실행하는 동안의 SQL 문장 수가 maxStatements 이하인지 검증하고 call 의 결과를 반환한다.
+    public <T> T assertAtMost(int maxStatements, ThrowingSupplier<T> call) {
+        counter.reset();
+        T result = assertDoesNotThrow(call);
+        int count = counter.getStatementCount();
+        assertTrue(count <= maxStatements,
+                () -> "expected at most " + maxStatements + " statements but was " + count);
+        return result;
+    }
+}
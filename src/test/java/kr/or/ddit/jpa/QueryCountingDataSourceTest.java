@@ -0,0 +1,63 @@
+package kr.or.ddit.jpa;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 스프링 컨텍스트 없이 별도 H2 메모리 db로 DataSource 단위 카운팅만 확인하는 단위 테스트
+class QueryCountingDataSourceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private QueryCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        // H2는 실행 시점 의존성(runtimeOnly)이므로 H2 클래스 대신 JDBC URL로만 연결한다.
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:query-counting;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new QueryCountingDataSource(h2));
+        jdbcTemplate.execute("create table if not exists item(id bigint, name varchar(20))");
+        counter = QueryCounter.begin(-1, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        QueryCounter.end();
+        jdbcTemplate.execute("drop table item");
+    }
+
+    @Test
+    void countsJdbcTemplate() {
+        // 테스트 상황
+        // - JdbcTemplate의 배치 insert는 행 수와 상관없이 executeBatch() 한 번 = 문장 하나로 센다.
+        // - 조회, 단건 수정은 각각 문장 하나로 센다.
+        List<Object[]> rows = List.of(new Object[]{1L, "a"}, new Object[]{2L, "b"}, new Object[]{3L, "c"});
+        jdbcTemplate.batchUpdate("insert into item(id, name) values (?, ?)", rows);
+        assertEquals(1, counter.getStatementCount());
+
+        assertEquals(3, jdbcTemplate.queryForObject("select count(*) from item", Integer.class));
+        jdbcTemplate.update("update item set name = ? where id = ?", "d", 1L);
+        assertEquals(3, counter.getStatementCount());
+    }
+
+    @Test
+    void failOnExceed() {
+        // 테스트 상황
+        // - fail 모드에서 허용 문장 수를 넘는 문장은 실행되기 전에 막힌다.
+        QueryCounter strict = QueryCounter.begin(1, true);
+        try {
+            jdbcTemplate.update("insert into item(id, name) values (?, ?)", 1L, "a");
+            assertThrows(QueryBudgetExceededException.class,
+                    () -> jdbcTemplate.update("insert into item(id, name) values (?, ?)", 2L, "b"));
+            assertEquals(2, strict.getStatementCount());
+        } finally {
+            QueryCounter.end();
+        }
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from item", Integer.class));
+    }
+}
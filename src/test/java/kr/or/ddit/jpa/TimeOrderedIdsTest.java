@@ -0,0 +1,60 @@
+package kr.or.ddit.jpa;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdsTest {
+
+    @Test
+    void increasing(){
+        // 테스트 상황
+        // - 한 노드에서 연속으로 발급한 id는 항상 증가하고, 노드 번호와 발급 시각을 다시 꺼낼 수 있다.
+        TimeOrderedIds ids = new TimeOrderedIds(7);
+        long before = System.currentTimeMillis();
+
+        long previous = ids.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = ids.nextId();
+            assertTrue(next > previous);
+            previous = next;
+        }
+
+        assertEquals(7L, TimeOrderedIds.nodeIdOf(previous));
+        assertTrue(TimeOrderedIds.timestampOf(previous) >= before);
+    }
+
+    @Test
+    void uniqueAcrossThreads() throws InterruptedException {
+        // 테스트 상황
+        // - 여러 스레드가 동시에 발급해도 id가 겹치지 않는다.
+        TimeOrderedIds ids = new TimeOrderedIds(1);
+        Set<Long> issued = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    issued.add(ids.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * perThread, issued.size());
+    }
+
+    @Test
+    void invalidNodeId(){
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIds(TimeOrderedIds.MAX_NODE_ID + 1));
+    }
+}
@@ -0,0 +1,109 @@
+package kr.or.ddit.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 스프링 없이 요청 필터 + TurboFilter 조합만 확인하는 단위 테스트
+// 샘플링 비율은 0으로 두고(모든 요청이 샘플링되지 않음), 처리 시간 기준으로 느린 요청/빠른 요청을 만든다.
+class RequestLogSamplingFilterTest {
+
+    private static final String SQL_LOGGER = "test.sampled.sql";
+
+    private final LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final SqlLogSamplingTurboFilter turboFilter = new SqlLogSamplingTurboFilter();
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private Logger sqlLogger;
+
+    @BeforeEach
+    void setUp() {
+        turboFilter.setLoggers(SQL_LOGGER);
+        turboFilter.start();
+        loggerContext.addTurboFilter(turboFilter);
+        appender.start();
+        sqlLogger = loggerContext.getLogger(SQL_LOGGER);
+        sqlLogger.setLevel(Level.DEBUG);
+        sqlLogger.setAdditive(false);
+        sqlLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loggerContext.getTurboFilterList().remove(turboFilter);
+        sqlLogger.detachAppender(appender);
+        sqlLogger.setLevel(null);
+        sqlLogger.setAdditive(true);
+    }
+
+    @Test
+    void replayOnSlow() throws Exception {
+        // 테스트 상황
+        // - 보관 중인 SQL 로그는 느린 요청(처리 시간 >= slow-request-ms)이면 순서대로 출력된다.
+        RequestLogSamplingFilter filter = filter(0, 256);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/articles/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    sqlLogger.debug("select 1");
+                    sqlLogger.debug("select {}", 2);
+                    // 요청 처리 중에는 출력되지 않는다.
+                    assertTrue(appender.list.isEmpty());
+                });
+
+        assertEquals(2, appender.list.size());
+        assertEquals("select 1", appender.list.get(0).getFormattedMessage());
+        assertEquals("select 2", appender.list.get(1).getFormattedMessage());
+        assertNull(RequestLogContext.current());
+    }
+
+    @Test
+    void dropOnFast() throws Exception {
+        // 테스트 상황
+        // - 빠른 요청의 SQL 로그는 출력되지 않고, 요청이 끝나면 보관한 로그도 사라진다.
+        RequestLogSamplingFilter filter = filter(Long.MAX_VALUE, 256);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/articles/1"), new MockHttpServletResponse(),
+                (request, response) -> sqlLogger.debug("select 1"));
+
+        assertTrue(appender.list.isEmpty());
+        assertNull(RequestLogContext.current());
+
+        // 요청 밖(스케줄러 등)의 로그는 샘플링과 상관없이 출력된다.
+        sqlLogger.debug("select 2");
+        assertEquals(1, appender.list.size());
+    }
+
+    @Test
+    void countOnlyWhenNotBuffered() throws Exception {
+        // 테스트 상황
+        // - max-buffered-events=0이면 느린 요청이어도 보관한 로그가 없으므로 출력하지 않고 건수만 센다.
+        RequestLogSamplingFilter filter = filter(0, 0);
+        int[] counted = new int[1];
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/articles/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    sqlLogger.debug("select 1");
+                    sqlLogger.debug("select 2");
+                    counted[0] = RequestLogContext.current().getDroppedCount();
+                    assertEquals(0, RequestLogContext.current().getBufferedCount());
+                });
+
+        assertTrue(appender.list.isEmpty());
+        assertEquals(2, counted[0]);
+    }
+
+    private static RequestLogSamplingFilter filter(long slowRequestMillis, int maxBufferedEvents) {
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter();
+        ReflectionTestUtils.setField(filter, "sqlSampleRate", 0.0);
+        ReflectionTestUtils.setField(filter, "slowRequestMillis", slowRequestMillis);
+        ReflectionTestUtils.setField(filter, "maxBufferedEvents", maxBufferedEvents);
+        return filter;
+    }
+}
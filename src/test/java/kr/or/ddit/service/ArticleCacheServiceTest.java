@@ -0,0 +1,78 @@
+package kr.or.ddit.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import kr.or.ddit.dto.ArticleCacheStats;
+import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.entity.Article;
+import kr.or.ddit.jpa.QueryCountExtension;
+import kr.or.ddit.repository.ArticleRepository;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 2차 캐시(엔티티 캐시, 쿼리 캐시) 동작 확인
+// 일괄 등록으로 게시글이 늘어나므로 다른 테스트가 쓰는 testdb(id, 건수를 검증함)와 따로 db를 둔다.
+// 캐시 매니저도 uri를 달리해 따로 두고(같은 id의 엔티티 캐시를 공유하지 않도록), 통계를 켜서 적중 수를 확인한다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache-test",
+        "spring.jpa.properties.hibernate.javax.cache.uri=application.conf",
+        "ddit.cache.statistics=true"
+})
+class ArticleCacheServiceTest {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private ArticleCacheService articleCacheService;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @RegisterExtension
+    QueryCountExtension queries = new QueryCountExtension();
+
+    @Test
+    void findById_entityCache() {
+        // 테스트 상황
+        // - 엔티티 캐시에 없는 게시글은 처음 한 번만 db에서 읽고, 이후 findById는 SQL 없이 캐시에서 가져온다.
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictEntityData(Article.class, 1L);
+        ArticleCacheStats before = articleCacheService.stats();
+
+        assertTrue(articleRepository.findById(1L).isPresent());
+        assertTrue(sessionFactory.getCache().containsEntity(Article.class, 1L));
+        Article article = queries.assertAtMost(0, () -> articleRepository.findById(1L).orElseThrow());
+
+        ArticleCacheStats after = articleCacheService.stats();
+        assertTrue(after.isStatisticsEnabled());
+        assertEquals("개똥이의하루", article.getTitle());
+        assertEquals(before.getEntityHits() + 1, after.getEntityHits());
+    }
+
+    @Test
+    void createAll_evictsQueryCache() {
+        // 테스트 상황
+        // - 목록 조회 결과는 쿼리 캐시에서 가져오다가(SQL 없음), createAll()로 직접 insert 하면 쿼리 캐시가 비워져
+        //   다음 목록 조회는 db를 다시 읽고 새 게시글이 포함된다.
+        int count = articleRepository.findAll().size();
+        queries.assertAtMost(0, () -> articleRepository.findAll());
+
+        List<Article> created = articleService.createAll(List.of(new ArticleForm(null, "캐시", "무효화")));
+
+        queries.reset();
+        List<Article> articles = articleRepository.findAll();
+        assertTrue(queries.getStatementCount() >= 1);
+        assertEquals(count + 1, articles.size());
+        assertTrue(articles.stream().anyMatch(article -> article.getId().equals(created.get(0).getId())));
+    }
+}
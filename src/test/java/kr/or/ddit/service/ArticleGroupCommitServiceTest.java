@@ -0,0 +1,110 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.entity.Article;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 게시글 등록 그룹 커밋 동작 확인
+// 게시글이 늘어나므로 다른 테스트가 쓰는 testdb(id, 건수를 검증함)와 따로 db, 캐시 매니저를 둔다.
+// 동시에 들어온 요청이 한 묶음으로 모이도록 묶는 시간(window)을 길게 둔다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit-test",
+        "spring.jpa.properties.hibernate.javax.cache.uri=application.conf",
+        "ddit.group-commit.enabled=true",
+        "ddit.group-commit.window-micros=20000"
+})
+class ArticleGroupCommitServiceTest {
+
+    @Autowired
+    private ArticleGroupCommitService articleGroupCommitService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private static <T> List<T> runConcurrently(List<Callable<T>> calls) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(calls.size());
+        try {
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : executor.invokeAll(calls)) {
+                results.add(assertDoesNotThrow(() -> future.get()));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void create_concurrent() throws InterruptedException {
+        // 테스트 상황
+        // - 여러 스레드가 동시에 등록해도 요청마다 서로 다른 id를 받고, 받은 게시글은 모두 db에 저장되어 있다.
+        int threads = 16;
+        int perThread = 20;
+        List<Callable<List<Article>>> calls = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            calls.add(() -> {
+                List<Article> created = new ArrayList<>();
+                for (int i = 0; i < perThread; i++) {
+                    created.add(articleGroupCommitService.create(new ArticleForm(null, "그룹 " + thread + "-" + i, "내용")));
+                }
+                return created;
+            });
+        }
+        List<Article> created = runConcurrently(calls).stream().flatMap(List::stream).toList();
+
+        Set<Long> ids = new HashSet<>();
+        for (Article article : created) {
+            assertTrue(ids.add(article.getId()), "duplicate id " + article.getId());
+            assertEquals(article.getTitle(), jdbcTemplate.queryForObject(
+                    "select title from article where id = ?", String.class, article.getId()));
+        }
+        assertEquals(threads * perThread, ids.size());
+    }
+
+    @Test
+    void create_invalidIsolated() throws InterruptedException {
+        // 테스트 상황
+        // - 같은 묶음에 저장할 수 없는 요청(제목이 컬럼 길이 255자 초과)이 섞여 묶음 저장이 실패하면,
+        //   요청마다 따로 저장해 그 요청만 실패하고 나머지 요청은 저장된다.
+        String tooLong = "가".repeat(300);
+        List<Callable<Object>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            String title = i == 3 ? tooLong : "묶음 " + i;
+            calls.add(() -> {
+                try {
+                    return articleGroupCommitService.create(new ArticleForm(null, title, "내용"));
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            });
+        }
+        List<Object> results = runConcurrently(calls);
+
+        for (int i = 0; i < results.size(); i++) {
+            if (i == 3) {
+                assertInstanceOf(RuntimeException.class, results.get(i));
+            } else {
+                Article article = assertInstanceOf(Article.class, results.get(i));
+                assertEquals("묶음 " + i, jdbcTemplate.queryForObject(
+                        "select title from article where id = ?", String.class, article.getId()));
+            }
+        }
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from article where title = ?", Long.class, tooLong));
+    }
+}
@@ -0,0 +1,47 @@
+package kr.or.ddit.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ArticleIdFilterServiceTest {
+
+    @Autowired
+    private ArticleIdFilterService articleIdFilterService;
+
+    private int recentSize() {
+        return ((Set<?>) ReflectionTestUtils.getField(articleIdFilterService, "recent")).size();
+    }
+
+    @Test
+    void rebuildIfFull() {
+        // 테스트 상황
+        // - 마지막 rebuild 이후 등록 수가 필터 여유분을 넘으면 rebuildIfFull()이 필터를 다시 만들고,
+        //   등록 id 기록(recent)을 비운다. 다시 만든 필터에도 등록된 id는 모두 들어 있다.
+        // - 등록 id는 다른 테스트의 게시글과 겹치지 않는 음수 id를 사용하고, 끝나면 db 기준으로 다시 만든다.
+        articleIdFilterService.rebuild();
+        articleIdFilterService.rebuildIfFull();
+        assertEquals(0, recentSize());
+
+        long headroom = (long) ReflectionTestUtils.getField(articleIdFilterService, "headroom");
+        Object before = ReflectionTestUtils.getField(articleIdFilterService, "filter");
+        for (long id = -1_000; id > -1_000 - headroom - 1; id--) {
+            articleIdFilterService.onCreate(id);
+        }
+
+        articleIdFilterService.rebuildIfFull();
+        assertEquals(0, recentSize());
+        assertNotSame(before, ReflectionTestUtils.getField(articleIdFilterService, "filter"));
+        for (long id = -1_000; id > -1_000 - headroom - 1; id--) {
+            assertTrue(articleIdFilterService.mightContain(id));
+        }
+
+        articleIdFilterService.rebuild();
+    }
+}
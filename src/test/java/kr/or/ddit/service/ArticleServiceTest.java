@@ -1,14 +1,24 @@
 package kr.or.ddit.service;
 
 import kr.or.ddit.dto.ArticleForm;
+import kr.or.ddit.dto.ArticleLookup;
+import kr.or.ddit.dto.ArticleSnapshotCheck;
 import kr.or.ddit.entity.Article;
+import kr.or.ddit.jpa.QueryCountExtension;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -64,6 +74,19 @@ class ArticleServiceTest {
     @Autowired
     private  ArticleService articleService;
 
+    @Autowired
+    private ArticleSnapshotService articleSnapshotService;
+
+    @Autowired
+    private ArticleSuggestService articleSuggestService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 서비스 호출 한 번에 실행되는 SQL 문장 수를 세기 위한 확장
+    @RegisterExtension
+    QueryCountExtension queries = new QueryCountExtension();
+
     @Test
     void index() {
         // 테스트 상황
@@ -197,4 +220,119 @@ class ArticleServiceTest {
         assertEquals(expected,article);
     }
 
-}
\ No newline at end of file
+    @Test
+    void show_queries(){
+        // 테스트 상황
+        // - show() 메서드를 호출 했을 때, SQL은 id로 조회하는 1번만 실행된다.
+        Article article = queries.assertAtMost(1, () -> articleService.show(1L));
+        assertNotNull(article);
+    }
+
+    @Test
+    void show_missing_queries(){
+        // 테스트 상황
+        // - 없는 id로 show() 메서드를 호출 했을 때, id 필터에서 걸러져 SQL 없이 null이 반환된다.
+        Article article = queries.assertAtMost(0, () -> articleService.show(-1L));
+        assertNull(article);
+    }
+
+    @Test
+    void update_queries(){
+        // 테스트 상황
+        // - update() 메서드를 호출 했을 때, 대상 조회(SELECT)와 수정(UPDATE)으로 SQL은 2번만 실행된다.
+        // - 다른 테스트에 영향을 주지 않도록 수정 후 원래 내용으로 되돌린다.
+        Long id = 2L;
+        Article original = articleService.show(id);
+
+        ArticleForm dto = new ArticleForm(id, original.getTitle(), "바닷가여행 수정");
+        Article updated = queries.assertAtMost(2, () -> articleService.update(id, dto));
+        assertEquals("바닷가여행 수정", updated.getContent());
+        // 수정(UPDATE) 문장은 반드시 세어져야 한다. (DataSource 단위 카운팅)
+        assertTrue(queries.getStatementCount() >= 1);
+
+        articleService.update(id, new ArticleForm(id, original.getTitle(), original.getContent()));
+    }
+
+    @Test
+    void delete_queries(){
+        // 테스트 상황
+        // - 없는 id로 delete() 메서드를 호출 했을 때, id 필터에서 걸러져 SQL 없이 null이 반환된다.
+        Article deleted = queries.assertAtMost(0, () -> articleService.delete(-1L));
+        assertNull(deleted);
+    }
+
+    @Test
+    void showAll_queries(){
+        // 테스트 상황
+        // - showAll() 메서드를 호출 했을 때, IN 조회 1번으로 가져오고 결과는 요청한 id 순서(중복 포함)이다.
+        // - 없는 id는 found=false로 표시된다.
+        List<ArticleLookup> lookups = queries.assertAtMost(1, () -> articleService.showAll(List.of(3L, -1L, 1L, 3L)));
+
+        assertEquals(List.of(3L, -1L, 1L, 3L), lookups.stream().map(ArticleLookup::getId).toList());
+        assertEquals(List.of(true, false, true, true), lookups.stream().map(ArticleLookup::isFound).toList());
+        assertNull(lookups.get(1).getArticle());
+        assertEquals(1L, lookups.get(2).getArticle().getId());
+    }
+
+    @Test
+    void index_snapshot(){
+        // 테스트 상황
+        // - index() 메서드는 메모리의 목록 스냅샷을 반환하므로 SQL이 실행되지 않는다.
+        // - 서비스를 통한 등록/수정/삭제만 있었으므로 스냅샷은 db와 일치한다.
+        List<Article> articles = queries.assertAtMost(0, () -> articleService.index());
+        assertFalse(articles.isEmpty());
+
+        ArticleSnapshotCheck check = articleSnapshotService.check(false);
+        assertTrue(check.isConsistent(), check.toString());
+        assertEquals(articles.size(), check.getDatabaseCount());
+    }
+
+    @Test
+    void suggest_rollback(){
+        // 테스트 상황
+        // - 제목 수정이 롤백되면 자동완성 색인에는 바뀐 제목이 들어가지 않고 기존 제목이 그대로 검색된다.
+        Long id = 3L;
+        String title = articleService.show(id).getTitle();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            articleService.update(id, new ArticleForm(id, "롤백될 제목", null));
+            status.setRollbackOnly();
+        });
+
+        assertTrue(articleSuggestService.suggest("롤백될", 10).isEmpty());
+        assertTrue(articleSuggestService.suggest(title, 10).stream().anyMatch(found -> id.equals(found.getId())));
+        assertEquals(title, articleService.show(id).getTitle());
+    }
+
+    @Test
+    void snapshot_outOfOrderCommit() throws Exception {
+        // 테스트 상황
+        // - 같은 게시글을 두 트랜잭션이 차례로 수정했는데 먼저 커밋된 쪽의 스냅샷 반영이 나중에 실행되어도,
+        //   스냅샷에는 마지막에 커밋된 내용이 남는다.
+        Long id = 3L;
+        Article original = articleService.show(id);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                // 이 트랜잭션의 스냅샷 반영보다 먼저 등록해, 두 번째 수정이 커밋될 때까지 붙잡아 둔다.
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        try {
+                            executor.submit(() -> articleService.update(id, new ArticleForm(id, null, "두 번째 수정"))).get();
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+                articleService.update(id, new ArticleForm(id, null, "첫 번째 수정"));
+            });
+
+            assertEquals("두 번째 수정", articleSnapshotService.get(id).getContent());
+            assertTrue(articleSnapshotService.check(false).isConsistent());
+        } finally {
+            executor.shutdown();
+            articleService.update(id, new ArticleForm(id, original.getTitle(), original.getContent()));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleStats;
+import kr.or.ddit.entity.Article;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 스프링 없이 카운터 동작만 확인하는 단위 테스트
+class ArticleStatsServiceTest {
+
+    @Test
+    void counters(){
+        // 테스트 상황
+        // - 2건 등록, 1건 수정(내용 길이 변경), 1건 삭제 후 전체 건수와 내용 길이를 확인한다.
+        ArticleStatsService statsService = new ArticleStatsService();
+
+        Article a = new Article(1L, "제목1", "12345");
+        Article b = new Article(2L, "제목2", "123");
+        statsService.onCreate(a);
+        statsService.onCreate(b);
+        statsService.onUpdate(3, new Article(2L, "제목2", "1234567"));
+        statsService.onDelete(a);
+
+        ArticleStats stats = statsService.stats();
+        assertEquals(1L, stats.getTotalCount());
+        assertEquals(7L, stats.getTotalContentLength());
+        assertEquals(7.0, stats.getAverageContentLength());
+        assertEquals(2L, stats.getCreatedCount());
+        assertEquals(1L, stats.getUpdatedCount());
+        assertEquals(1L, stats.getDeletedCount());
+    }
+
+    @Test
+    void creationSeries(){
+        // 테스트 상황
+        // - 같은 분에 생성된 건수는 같은 버킷에 모이고, 1시간이 지난 버킷은 시계열에서 빠진다.
+        ArticleStatsService statsService = new ArticleStatsService();
+        long minute = ArticleStatsService.BUCKET_MILLIS;
+        long now = 1_000 * minute;
+
+        statsService.bucketFor(now - 2 * minute).count.add(3);
+        statsService.bucketFor(now).count.add(5);
+
+        List<Long> series = statsService.stats(now).getCreationSeries();
+        assertEquals(ArticleStatsService.BUCKET_COUNT, series.size());
+        assertEquals(5L, series.get(series.size() - 1));
+        assertEquals(3L, series.get(series.size() - 3));
+
+        // 1시간 뒤에는 이전 버킷이 모두 만료된다.
+        long later = now + ArticleStatsService.BUCKET_COUNT * minute;
+        assertTrue(statsService.stats(later).getCreationSeries().stream().allMatch(c -> c == 0L));
+    }
+
+    @Test
+    void rolledBack(){
+        // 테스트 상황
+        // - 트랜잭션 안에서 호출된 변경은 커밋된 뒤에만 반영되고, 롤백되면 카운터에 남지 않는다.
+        ArticleStatsService statsService = new ArticleStatsService();
+        statsService.onCreate(new Article(1L, "제목1", "12345"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            statsService.onDelete(new Article(1L, "제목1", "12345"));
+            statsService.onCreate(new Article(2L, "제목2", "123"));
+            // 아직 커밋 전
+            assertEquals(1L, statsService.stats().getTotalCount());
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArticleStats stats = statsService.stats();
+        assertEquals(1L, stats.getTotalCount());
+        assertEquals(5L, stats.getTotalContentLength());
+        assertEquals(1L, stats.getCreatedCount());
+        assertEquals(0L, stats.getDeletedCount());
+    }
+}
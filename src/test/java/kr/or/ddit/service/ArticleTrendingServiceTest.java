@@ -0,0 +1,33 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleTrend;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ArticleTrendingServiceTest {
+
+    @Autowired
+    private ArticleTrendingService articleTrendingService;
+
+    @Value("${ddit.trending.top-k}")
+    private int topK;
+
+    @Test
+    void trending_hugeLimit() {
+        // 테스트 상황
+        // - limit을 int 최댓값으로 요청해도 (목록 크기 계산이 넘치거나 큰 목록을 미리 잡지 않고) top-k 건 이하로 반환한다.
+        articleTrendingService.record(1L);
+        List<ArticleTrend> trends = assertDoesNotThrow(() -> articleTrendingService.trending("1h", Integer.MAX_VALUE));
+
+        assertFalse(trends.isEmpty());
+        assertTrue(trends.size() <= topK);
+        assertTrue(trends.stream().anyMatch(trend -> trend.getId().equals(1L)));
+    }
+}
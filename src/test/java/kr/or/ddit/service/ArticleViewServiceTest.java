@@ -0,0 +1,140 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleForm;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 게시글을 등록하고 지우므로 다른 테스트가 쓰는 testdb(id, 건수를 검증함)와 따로 db, 캐시 매니저를 둔다.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:view-test",
+        "spring.jpa.properties.hibernate.javax.cache.uri=application.conf"
+})
+class ArticleViewServiceTest {
+
+    @Autowired
+    private ArticleViewService articleViewService;
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long storedViews(Long id) {
+        return jdbcTemplate.queryForObject(
+                "select coalesce(max(view_count), 0) from article_view where article_id = ?", Long.class, id);
+    }
+
+    @Test
+    void recordAndFlush() {
+        // 테스트 상황
+        // - 조회수는 메모리에만 쌓이다가 flush() 때 db에 한 번에 더해지고, 조회 결과는 flush 전후로 같다.
+        // - 다른 테스트의 조회수와 섞이지 않도록 전후 차이로 비교한다.
+        Long id = 2L;
+        articleViewService.flush();
+        long before = articleViewService.views(id).getViews();
+
+        for (int i = 0; i < 5; i++) {
+            articleViewService.record(id);
+        }
+        assertEquals(before + 5, articleViewService.views(id).getViews());
+
+        articleViewService.flush();
+        assertEquals(before + 5, articleViewService.views(id).getViews());
+        assertEquals(before + 5, storedViews(id));
+
+        articleViewService.record(id);
+        articleViewService.flush();
+        assertEquals(before + 6, articleViewService.views(id).getViews());
+    }
+
+    @Test
+    void recordDuringFlush() {
+        // 테스트 상황
+        // - 여러 스레드가 조회를 기록하는 동안 flush()를 반복해도 유실되는 조회수가 없다.
+        Long id = 2L;
+        articleViewService.flush();
+        long before = storedViews(id);
+        int threads = 4;
+        int perThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        articleViewService.record(id);
+                    }
+                }));
+            }
+            while (futures.stream().anyMatch(future -> !future.isDone())) {
+                articleViewService.flush();
+            }
+            for (Future<?> future : futures) {
+                assertDoesNotThrow(() -> future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        articleViewService.flush();
+        assertEquals(before + (long) threads * perThread, storedViews(id));
+    }
+
+    @Test
+    void flushSkipsDeletedArticle() throws Exception {
+        // 테스트 상황
+        // - 게시글 삭제(ArticleService.delete()) 트랜잭션이 끝나기 전에 flush()가 실행되면 flush는 삭제가 끝날 때까지
+        //   기다렸다가 삭제된 게시글의 조회수를 반영하지 않는다. (article_view에 삭제된 게시글의 행이 다시 생기지 않음)
+        // - 둘이 잠그는 순서가 같으므로(article -> article_view) 교착 상태로 어느 쪽도 롤백되지 않는다.
+        Long id = articleService.create(new ArticleForm(null, "조회수", "삭제")).getId();
+        articleViewService.record(id);
+        articleViewService.flush();
+        assertEquals(1, storedViews(id));
+        articleViewService.record(id);
+
+        CountDownLatch deleted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> delete = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                assertNotNull(articleService.delete(id));
+                deleted.countDown();
+                try {
+                    commit.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            assertTrue(deleted.await(5, TimeUnit.SECONDS));
+            Future<?> flush = executor.submit(() -> articleViewService.flush());
+            Thread.sleep(200);
+            assertFalse(flush.isDone());
+
+            commit.countDown();
+            delete.get(5, TimeUnit.SECONDS);
+            flush.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        articleViewService.flush();
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from article_view where article_id = ?", Long.class, id));
+        assertEquals(0, articleViewService.views(id).getViews());
+    }
+}
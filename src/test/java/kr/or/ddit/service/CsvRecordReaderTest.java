@@ -0,0 +1,58 @@
+package kr.or.ddit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFields() throws IOException {
+        // 테스트 상황
+        // - 큰따옴표 안의 쉼표, 줄바꿈, "" 는 필드 값으로 읽고, 레코드의 시작 줄 번호를 함께 반환한다.
+        String csv = "title,content\r\n"
+                + "제목1,내용1\n"
+                + "\"제목, 2\",\"여러 줄\n내용 \"\"인용\"\"\"\n"
+                + "제목3,\n";
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(csv), 1024);
+
+        assertEquals(List.of("title", "content"), reader.next().fields());
+        assertEquals(List.of("제목1", "내용1"), reader.next().fields());
+
+        CsvRecordReader.Record quoted = reader.next();
+        assertEquals(3L, quoted.line());
+        assertEquals(List.of("제목, 2", "여러 줄\n내용 \"인용\""), quoted.fields());
+
+        CsvRecordReader.Record last = reader.next();
+        assertEquals(5L, last.line());
+        assertEquals(List.of("제목3", ""), last.fields());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void malformedRecords() throws IOException {
+        // 테스트 상황
+        // - 너무 긴 레코드와 닫히지 않은 따옴표는 오류 레코드로 반환된다.
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("짧은제목,1234567890\n제목,\"닫히지 않음"), 8);
+
+        assertNotNull(reader.next().error());
+        assertEquals("unterminated quoted field", reader.next().error());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void separatorsCounted() throws IOException {
+        // 테스트 상황
+        // - 쉼표만 계속되는 레코드도 쉼표를 글자 수에 포함해 제한을 넘으면 오류 레코드가 되고, 필드는 제한까지만 쌓인다.
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(",".repeat(100_000) + "\n제목,내용\n"), 8);
+
+        CsvRecordReader.Record commas = reader.next();
+        assertNotNull(commas.error());
+        assertTrue(commas.fields().size() <= 9);
+        assertEquals(List.of("제목", "내용"), reader.next().fields());
+    }
+}
@@ -0,0 +1,29 @@
+package kr.or.ddit.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBloomFilterTest {
+
+    @Test
+    void noFalseNegatives() {
+        // 테스트 상황
+        // - 넣은 id는 항상 있을 수도 있음(true), 넣지 않은 id의 거짓 양성 비율은 설정값(1%) 근처이다.
+        IdBloomFilter filter = new IdBloomFilter(100_000, 0.01);
+        for (long id = 1; id <= 100_000; id++) {
+            filter.put(id);
+        }
+        for (long id = 1; id <= 100_000; id++) {
+            assertTrue(filter.mightContain(id));
+        }
+
+        int falsePositives = 0;
+        for (long id = 1_000_001; id <= 1_100_000; id++) {
+            if (filter.mightContain(id)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2000, "false positives : " + falsePositives);
+    }
+}
@@ -0,0 +1,40 @@
+package kr.or.ddit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineRecordReaderTest {
+
+    @Test
+    void lines() throws IOException {
+        // 테스트 상황
+        // - \n, \r\n, \r 줄바꿈을 모두 인식하고 줄 번호를 함께 반환한다. 마지막 줄은 줄바꿈이 없어도 된다.
+        LineRecordReader reader = new LineRecordReader(new StringReader("{\"a\":1}\r\n\n{\"b\":2}\r{\"c\":3}"), 1024);
+
+        assertEquals("{\"a\":1}", reader.next().text());
+        assertEquals("", reader.next().text());
+        LineRecordReader.Line third = reader.next();
+        assertEquals(3L, third.number());
+        assertEquals("{\"b\":2}", third.text());
+        assertEquals("{\"c\":3}", reader.next().text());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void tooLong() throws IOException {
+        // 테스트 상황
+        // - 제한보다 긴 줄은 내용을 보관하지 않고 오류 줄로 반환되며, 다음 줄부터는 정상적으로 읽는다.
+        LineRecordReader reader = new LineRecordReader(new StringReader("x".repeat(200_000) + "\n{\"a\":1}\n"), 16);
+
+        LineRecordReader.Line line = reader.next();
+        assertEquals(1L, line.number());
+        assertNull(line.text());
+        assertNotNull(line.error());
+        assertEquals("{\"a\":1}", reader.next().text());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,110 @@
+package kr.or.ddit.service;
+
+import kr.or.ddit.dto.ArticleTitle;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleTrieTest {
+
+    private static List<Long> ids(List<ArticleTitle> titles) {
+        return titles.stream().map(ArticleTitle::getId).toList();
+    }
+
+    @Test
+    void searchByPrefix() {
+        // 테스트 상황
+        // - 접두어로 시작하는 제목만 최근 게시글(id가 큰 순)부터, 최대 limit 건 반환한다.
+        // - 간선 중간에서 갈라지는 키(abc, abd)와 다른 키의 접두어인 키(ab)를 함께 등록한다.
+        TitleTrie trie = new TitleTrie(10);
+        trie.add("abd", 3L, "ABD");
+        trie.add("abc", 2L, "ABC");
+        trie.add("ab", 1L, "AB");
+        trie.add("b", 4L, "B");
+        trie.add("abc", 5L, "abc");
+
+        assertEquals(5, trie.size());
+        assertEquals(List.of(5L, 3L, 2L, 1L), ids(trie.search("a", 10)));
+        assertEquals(List.of(5L, 2L), ids(trie.search("abc", 10)));
+        assertEquals(List.of(5L, 3L), ids(trie.search("ab", 2)));
+        assertEquals("ABC", trie.search("abc", 10).get(1).getTitle());
+        assertTrue(trie.search("abe", 10).isEmpty());
+        assertTrue(trie.search("abcd", 10).isEmpty());
+        assertEquals(5, trie.search("", 10).size());
+
+        // 같은 키, 같은 id를 다시 등록해도 한 건으로 유지된다.
+        trie.add("abc", 5L, "abc");
+        assertEquals(5, trie.size());
+    }
+
+    @Test
+    void remove() {
+        // 테스트 상황
+        // - 삭제 후에는 검색되지 않고, 노드가 정리(병합)된 뒤에도 나머지 키는 그대로 검색된다.
+        TitleTrie trie = new TitleTrie(10);
+        trie.add("abc", 1L, "abc");
+        trie.add("abd", 2L, "abd");
+        trie.add("ab", 3L, "ab");
+
+        assertFalse(trie.remove("abc", 2L));
+        assertFalse(trie.remove("abx", 1L));
+        assertTrue(trie.remove("abc", 1L));
+        assertTrue(trie.remove("ab", 3L));
+
+        assertEquals(1, trie.size());
+        assertEquals(List.of(2L), ids(trie.search("a", 10)));
+        assertEquals(List.of(2L), ids(trie.search("abd", 10)));
+
+        // 병합된 노드(abd)가 다시 갈라지는 경우
+        trie.add("abe", 4L, "abe");
+        assertEquals(List.of(4L, 2L), ids(trie.search("ab", 10)));
+        assertTrue(trie.remove("abd", 2L));
+        assertTrue(trie.remove("abe", 4L));
+        assertEquals(0, trie.size());
+        assertTrue(trie.search("", 10).isEmpty());
+    }
+
+    @Test
+    void topKMatchesFullScan() {
+        // 테스트 상황
+        // - 등록/삭제를 무작위로 반복해도 노드마다 유지하는 상위 k건이 전체를 훑어 구한 결과와 같다.
+        //   (삭제로 상위 k건에서 빠진 자리는 하위 노드의 다음 순위로 채워져야 한다)
+        int k = 5;
+        TitleTrie trie = new TitleTrie(k);
+        Map<Long, String> keys = new HashMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 5_000; op++) {
+            long id = random.nextInt(300);
+            String existing = keys.get(id);
+            if (existing != null) {
+                assertTrue(trie.remove(existing, id));
+                keys.remove(id);
+            } else {
+                StringBuilder key = new StringBuilder();
+                for (int length = 1 + random.nextInt(4); length > 0; length--) {
+                    key.append((char) ('a' + random.nextInt(3)));
+                }
+                trie.add(key.toString(), id, key.toString());
+                keys.put(id, key.toString());
+            }
+            if (op % 50 == 0) {
+                for (String prefix : List.of("", "a", "b", "ab", "ca", "abc")) {
+                    List<Long> expected = keys.entrySet().stream()
+                            .filter(entry -> entry.getValue().startsWith(prefix))
+                            .map(Map.Entry::getKey)
+                            .sorted(Comparator.reverseOrder())
+                            .limit(k)
+                            .toList();
+                    assertEquals(expected, ids(trie.search(prefix, k)), "prefix " + prefix + ", op " + op);
+                }
+            }
+        }
+        assertEquals(keys.size(), trie.size());
+    }
+}
@@ -0,0 +1,75 @@
+package kr.or.ddit.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// 스프링 없이 인기 게시글 집계 동작만 확인하는 단위 테스트
+class TrendingWindowTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @Test
+    void heavyHitters() {
+        // 테스트 상황
+        // - 많이 조회된 게시글 3개가 조회수 순으로 나오고, 추정값은 실제 조회수보다 작지 않다.
+        // - 나머지 1만 개 게시글은 한두 번씩만 조회된다.
+        TrendingWindow window = new TrendingWindow(5 * MINUTE, 12, 1024, 4, 20);
+        long now = 1_000 * MINUTE;
+        Random random = new Random(1);
+        for (int i = 0; i < 20_000; i++) {
+            window.record(1_000 + random.nextInt(10_000), now);
+        }
+        for (int i = 0; i < 3000; i++) {
+            window.record(1L, now);
+        }
+        for (int i = 0; i < 2000; i++) {
+            window.record(2L, now);
+        }
+        for (int i = 0; i < 1000; i++) {
+            window.record(3L, now);
+        }
+
+        List<long[]> top = window.top(60 * MINUTE, 3, now);
+        assertEquals(List.of(1L, 2L, 3L), top.stream().map(entry -> entry[0]).toList());
+        assertTrue(top.get(0)[1] >= 3000);
+        assertTrue(top.get(2)[1] >= 1000);
+    }
+
+    @Test
+    void slidingWindow() {
+        // 테스트 상황
+        // - 기간에 걸치는 칸의 조회수만 더하고, 최대 기간(1시간)이 지난 칸은 집계에서 빠진다.
+        TrendingWindow window = new TrendingWindow(5 * MINUTE, 12, 256, 4, 10);
+        long start = 1_000 * MINUTE;
+        window.record(1L, start);
+        window.record(1L, start);
+        window.record(2L, start + 30 * MINUTE);
+
+        long now = start + 30 * MINUTE;
+        assertEquals(2, window.top(60 * MINUTE, 10, now).size());
+        assertEquals(2L, window.top(60 * MINUTE, 10, now).get(0)[1]);
+        assertEquals(List.of(2L), window.top(10 * MINUTE, 10, now).stream().map(entry -> entry[0]).toList());
+
+        List<long[]> later = window.top(60 * MINUTE, 10, start + 65 * MINUTE);
+        assertEquals(List.of(2L), later.stream().map(entry -> entry[0]).toList());
+    }
+
+    @Test
+    void partialCurrentSlot() {
+        // 테스트 상황
+        // - 지금이 칸 중간이면(현재 칸은 일부만 채워짐) 기간의 시작이 걸치는 지난 칸까지 포함해,
+        //   최대 기간(1시간) 안의 조회는 빠지지 않는다.
+        TrendingWindow window = new TrendingWindow(5 * MINUTE, 12, 256, 4, 10);
+        long start = 1_000 * MINUTE;
+        window.record(1L, start + 3 * MINUTE);
+        window.record(2L, start + 40 * MINUTE);
+
+        long now = start + 62 * MINUTE;
+        assertEquals(List.of(1L, 2L), window.top(60 * MINUTE, 10, now).stream().map(entry -> entry[0]).sorted().toList());
+        assertEquals(List.of(2L), window.top(30 * MINUTE, 10, now).stream().map(entry -> entry[0]).toList());
+    }
+}